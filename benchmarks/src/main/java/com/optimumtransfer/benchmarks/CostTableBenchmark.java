@@ -0,0 +1,59 @@
+package com.optimumtransfer.benchmarks;
+
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.goals.SingleContainerGoal;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.search.AStar;
+import com.optimumtransfer.search.SearchOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A solve that settles after a few dozen expansions in a ranked state space of several
+ * million states. With the dense table enabled it should cost about as much as with the
+ * hash table, since only the pages the search touches are allocated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class CostTableBenchmark {
+    private static final int[] CAPACITIES = {208, 128, 80, 48, 33};
+
+    @Param({"0", "64"})
+    public int denseTableBudgetMb;
+
+    private State start;
+    private GoalCondition goal;
+    private SearchOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] startVolumes = new int[CAPACITIES.length];
+        startVolumes[0] = CAPACITIES[0];
+        start = new State(startVolumes);
+        goal = new SingleContainerGoal(1, 128);
+        options = SearchOptions.defaults().withDenseTableBudgetBytes(denseTableBudgetMb * 1024L * 1024L);
+    }
+
+    @Benchmark
+    public List<Transfer> quickSolveInLargeSpace() {
+        return new AStar(CAPACITIES, List.of(), new ZeroHeuristic(), options).solve(start, goal);
+    }
+}
@@ -0,0 +1,42 @@
+package com.optimumtransfer.benchmarks;
+
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.goals.SimpleGoalParser;
+import com.optimumtransfer.model.State;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Goal checks over a fixed batch of reachable states, plus the cost of compiling the
+ * scenario's expression with {@link SimpleGoalParser}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GoalBenchmark {
+    @Benchmark
+    public int evaluate(SolverScenario scenario) {
+        GoalCondition goal = scenario.goal;
+        int satisfied = 0;
+        for (State state : scenario.sampleStates) {
+            if (goal.isSatisfied(state)) {
+                satisfied++;
+            }
+        }
+        return satisfied;
+    }
+
+    @Benchmark
+    public GoalCondition parse(SolverScenario scenario) {
+        return SimpleGoalParser.parse(scenario.expression, scenario.containerCount);
+    }
+}
@@ -0,0 +1,13 @@
+package com.optimumtransfer.benchmarks;
+
+/**
+ * Goal families the solver benchmarks are parameterised over.
+ */
+public enum GoalType {
+    /** A reachable target state, searched without a heuristic. */
+    EXACT_MATCH,
+    /** Equal volumes everywhere, guided by the even-distribution heuristic; often unreachable. */
+    EVEN_DISTRIBUTION,
+    /** A {@code SimpleGoalParser} expression over two containers. */
+    EXPRESSION
+}
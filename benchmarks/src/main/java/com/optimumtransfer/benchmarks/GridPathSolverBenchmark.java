@@ -0,0 +1,53 @@
+package com.optimumtransfer.benchmarks;
+
+import com.optimumtransfer.extras.GridPathSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The floor-is-lava Dijkstra search for each jump limit of the posted problem. The
+ * solver reports on standard output, which is discarded while the benchmark runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GridPathSolverBenchmark {
+    @Param({"7", "9"})
+    public int maxJump;
+
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void silenceOutput() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreOutput() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void findShortestPath() {
+        GridPathSolver.findShortestPath("benchmark", maxJump, true);
+    }
+}
@@ -0,0 +1,79 @@
+package com.optimumtransfer.benchmarks;
+
+import com.optimumtransfer.heuristics.EvenDistributionHeuristic;
+import com.optimumtransfer.heuristics.Heuristic;
+import com.optimumtransfer.heuristics.SingleContainerHeuristic;
+import com.optimumtransfer.heuristics.TotalVolumeHeuristic;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.search.AStar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates of every heuristic over a fixed batch of reachable states.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class HeuristicBenchmark {
+    private static final int SAMPLE_STATES = 1024;
+
+    @Param({"ZERO", "EVEN_DISTRIBUTION", "SINGLE_CONTAINER", "TOTAL_VOLUME"})
+    public String heuristicType;
+
+    @Param({"3", "7"})
+    public int containerCount;
+
+    private Heuristic heuristic;
+    private List<State> states;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] capacities = new int[containerCount];
+        int[] startVolumes = new int[containerCount];
+        for (int i = 0; i < containerCount; i++) {
+            capacities[i] = 3 * (containerCount - i) + 2;
+        }
+        startVolumes[0] = capacities[0];
+        heuristic = createHeuristic(capacities[0]);
+        states = SolverScenario.reachableStates(new AStar(capacities), new State(startVolumes), SAMPLE_STATES);
+    }
+
+    @Benchmark
+    public long estimate() {
+        long total = 0;
+        for (State state : states) {
+            total += heuristic.estimate(state);
+        }
+        return total;
+    }
+
+    private Heuristic createHeuristic(int totalVolume) {
+        switch (heuristicType) {
+            case "EVEN_DISTRIBUTION":
+                return new EvenDistributionHeuristic();
+            case "SINGLE_CONTAINER":
+                return new SingleContainerHeuristic(containerCount - 1, 1);
+            case "TOTAL_VOLUME":
+                return new TotalVolumeHeuristic(totalVolume / 2);
+            default:
+                return new ZeroHeuristic();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.optimumtransfer.benchmarks;
+
+import com.optimumtransfer.goals.ExactMatchGoal;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.search.AStar;
+import com.optimumtransfer.search.SearchOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock time of an exhaustive exact-match search for growing worker counts. Worker
+ * counts above the number of available processors only measure contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class ParallelScalingBenchmark {
+    private static final int[] CAPACITIES = {34, 21, 13, 8, 5, 3, 2};
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    private AStar solver;
+    private State start;
+    private ExactMatchGoal goal;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        solver = new AStar(CAPACITIES, List.of(), new ZeroHeuristic(), SearchOptions.defaults().withParallelism(workers));
+        start = new State(new int[]{34, 0, 0, 0, 0, 0, 0});
+        // Unreachable target, so every run explores the whole reachable space.
+        goal = new ExactMatchGoal(new int[]{0, 0, 0, 0, 0, 0, 0});
+    }
+
+    @Benchmark
+    public List<Transfer> solve() {
+        return solver.solve(start, goal);
+    }
+}
@@ -0,0 +1,49 @@
+package com.optimumtransfer.benchmarks;
+
+import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.search.AStar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shortest-path search and bounded enumeration over the canonical scenarios. A fresh
+ * solver per invocation keeps route-table and encoder setup inside the measurement, as
+ * it is for every {@code SolverService} call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+    private static final int ENUMERATION_DEPTH = 4;
+
+    @Benchmark
+    public List<Transfer> solve(SolverScenario scenario) {
+        return scenario.newSolver().solve(scenario.start, scenario.goal);
+    }
+
+    @Benchmark
+    public List<List<Transfer>> findAllSolutions(SolverScenario scenario) {
+        AStar solver = scenario.newSolver();
+        return solver.findAllSolutions(scenario.start, scenario.goal, ENUMERATION_DEPTH);
+    }
+
+    @Benchmark
+    public long streamAllSolutions(SolverScenario scenario, Blackhole blackhole) {
+        AStar solver = scenario.newSolver();
+        return solver.findAllSolutions(scenario.start, scenario.goal, ENUMERATION_DEPTH, Integer.MAX_VALUE, solution -> {
+            blackhole.consume(solution);
+            return true;
+        });
+    }
+}
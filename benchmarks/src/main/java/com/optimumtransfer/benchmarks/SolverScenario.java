@@ -0,0 +1,127 @@
+package com.optimumtransfer.benchmarks;
+
+import com.optimumtransfer.goals.EvenDistributionGoal;
+import com.optimumtransfer.goals.ExactMatchGoal;
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.goals.SimpleGoalParser;
+import com.optimumtransfer.heuristics.EvenDistributionHeuristic;
+import com.optimumtransfer.heuristics.Heuristic;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.search.AStar;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Canonical container puzzle shared by the solver benchmarks.
+ *
+ * Capacities are descending Fibonacci numbers multiplied by {@code capacityScale}, and
+ * the first container starts full. Scaling keeps the shape of the state space but moves
+ * the volumes into wider state encodings and larger cost tables. Targets are found by a
+ * fixed walk from the start, so exact-match and expression goals are always reachable.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class SolverScenario {
+    private static final int[] FIBONACCI = {34, 21, 13, 8, 5, 3, 2};
+    private static final int SAMPLE_STATES = 1024;
+
+    @Param({"3", "5", "7"})
+    public int containerCount;
+
+    @Param({"1", "16", "1024"})
+    public int capacityScale;
+
+    @Param({"EXACT_MATCH", "EVEN_DISTRIBUTION", "EXPRESSION"})
+    public GoalType goalType;
+
+    int[] capacities;
+    State start;
+    int[] target;
+    GoalCondition goal;
+    Heuristic heuristic;
+    String expression;
+    List<State> sampleStates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        capacities = new int[containerCount];
+        int[] startVolumes = new int[containerCount];
+        for (int i = 0; i < containerCount; i++) {
+            capacities[i] = FIBONACCI[FIBONACCI.length - containerCount + i] * capacityScale;
+        }
+        startVolumes[0] = capacities[0];
+        start = new State(startVolumes);
+
+        AStar explorer = new AStar(capacities);
+        target = walk(explorer, start, 2 * containerCount).getVolumes();
+        expression = "v[0] == " + target[0] + " && v[" + (containerCount - 1) + "] >= " + target[containerCount - 1];
+        switch (goalType) {
+            case EXACT_MATCH:
+                goal = new ExactMatchGoal(target);
+                heuristic = new ZeroHeuristic();
+                break;
+            case EVEN_DISTRIBUTION:
+                goal = new EvenDistributionGoal();
+                heuristic = new EvenDistributionHeuristic();
+                break;
+            default:
+                goal = SimpleGoalParser.parse(expression, containerCount);
+                heuristic = new ZeroHeuristic();
+                break;
+        }
+        sampleStates = reachableStates(explorer, start, SAMPLE_STATES);
+    }
+
+    AStar newSolver() {
+        return new AStar(capacities, List.of(), heuristic);
+    }
+
+    /**
+     * Follows a fixed choice of legal transfers, which keeps targets reproducible across
+     * runs without hardcoding one per parameter combination.
+     */
+    private static State walk(AStar explorer, State start, int steps) {
+        State current = start;
+        for (int step = 0; step < steps; step++) {
+            List<int[]> moves = new ArrayList<>();
+            explorer.forEachSuccessor(current, (from, to, amount, weight) -> moves.add(new int[]{from, to, amount}));
+            if (moves.isEmpty()) {
+                break;
+            }
+            int[] move = moves.get((step * 7 + 3) % moves.size());
+            current = current.afterTransfer(move[0], move[1], move[2]);
+        }
+        return current;
+    }
+
+    /**
+     * Returns up to {@code limit} states in breadth-first order from the start.
+     */
+    static List<State> reachableStates(AStar explorer, State start, int limit) {
+        List<State> states = new ArrayList<>();
+        Set<State> seen = new HashSet<>();
+        Queue<State> queue = new ArrayDeque<>();
+        queue.add(start);
+        seen.add(start);
+        while (!queue.isEmpty() && states.size() < limit) {
+            State current = queue.poll();
+            states.add(current);
+            explorer.forEachSuccessor(current, (from, to, amount, weight) -> {
+                State next = current.afterTransfer(from, to, amount);
+                if (seen.add(next)) {
+                    queue.add(next);
+                }
+            });
+        }
+        return states;
+    }
+}
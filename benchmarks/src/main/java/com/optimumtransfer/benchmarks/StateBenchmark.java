@@ -0,0 +1,100 @@
+package com.optimumtransfer.benchmarks;
+
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.StateCodec;
+import com.optimumtransfer.search.AStar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing, equality and successor construction for plain and packed state encodings.
+ * Equality compares each state with an equal copy built separately, so it cannot
+ * short-circuit on identity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class StateBenchmark {
+    private static final int SAMPLE_STATES = 1024;
+
+    @Param({"3", "7"})
+    public int containerCount;
+
+    @Param({"1", "1024"})
+    public int capacityScale;
+
+    @Param({"PLAIN", "PACKED"})
+    public String encoding;
+
+    private int[] capacities;
+    private State[] states;
+    private State[] copies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SolverScenario scenario = new SolverScenario();
+        scenario.containerCount = containerCount;
+        scenario.capacityScale = capacityScale;
+        scenario.goalType = GoalType.EXACT_MATCH;
+        scenario.setUp();
+
+        capacities = scenario.capacities;
+        StateCodec codec = "PACKED".equals(encoding)
+                ? StateCodec.forBounds(scenario.capacities)
+                : StateCodec.unpacked(containerCount);
+        List<State> sample = SolverScenario.reachableStates(new AStar(scenario.capacities), scenario.start, SAMPLE_STATES);
+        states = new State[sample.size()];
+        copies = new State[sample.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = codec.encode(sample.get(i).getVolumes());
+            copies[i] = codec.encode(sample.get(i).getVolumes());
+        }
+    }
+
+    @Benchmark
+    public long hash64() {
+        long combined = 0;
+        for (State state : states) {
+            combined ^= state.hash64();
+        }
+        return combined;
+    }
+
+    @Benchmark
+    public int hashCodeAndEquals() {
+        int matches = 0;
+        for (int i = 0; i < states.length; i++) {
+            if (states[i].hashCode() == copies[i].hashCode() && states[i].equals(copies[i])) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public long afterTransfer() {
+        long combined = 0;
+        for (State state : states) {
+            for (int to = 1; to < state.size(); to++) {
+                int amount = state.volumeAt(0) > 0 && state.volumeAt(to) < capacities[to] ? 1 : 0;
+                combined ^= state.afterTransfer(0, to, amount).hash64();
+            }
+        }
+        return combined;
+    }
+}
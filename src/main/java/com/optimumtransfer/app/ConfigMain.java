@@ -1,14 +1,17 @@
 package com.optimumtransfer.app;
 
 import com.optimumtransfer.application.RuntimeDefaults;
-import com.optimumtransfer.application.SolveMode;
+import com.optimumtransfer.application.SolverRequest;
 import com.optimumtransfer.application.SolverResult;
 import com.optimumtransfer.application.SolverService;
+import com.optimumtransfer.application.SolveMode;
 import com.optimumtransfer.application.config.SolverRequestPropertiesLoader;
 import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.search.SolutionConsumer;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 public class ConfigMain {
@@ -22,12 +25,53 @@ public class ConfigMain {
 
         SolverRequestPropertiesLoader loader = new SolverRequestPropertiesLoader();
         SolverService solverService = new SolverService();
-        SolverResult result = solverService.solve(loader.load(Path.of(args[0])));
-        printResult(result);
+        SolverRequest request = withProgressReport(loader.load(Path.of(args[0])));
+        // Enumerated solutions stream past; only the few previews are kept to print after the total.
+        PreviewCollector previews = new PreviewCollector();
+        SolverResult result = request.getSolveMode().isShortestPath()
+                ? solverService.solve(request)
+                : solverService.solve(request, previews);
+        printResult(result, previews.lines);
     }
 
-    private static void printResult(SolverResult result) {
-        if (result.getSolveMode() == SolveMode.SHORTEST_PATH) {
+    private static SolverRequest withProgressReport(SolverRequest request) {
+        return new SolverRequest(
+                request.getCapacities(),
+                request.getStartVolumes(),
+                request.getGoal(),
+                request.getConstraints(),
+                request.getHeuristic(),
+                request.getSolveMode(),
+                request.getMaxDepth(),
+                request.getMaxSolutions(),
+                request.getTopology(),
+                request.getSearchOptions()
+                        .withSearchListener(progress -> System.err.println("Progress: " + progress))
+                        .withAnytimeListener(plan -> System.err.println("Plan found: " + plan))
+        );
+    }
+
+    private static void printResult(SolverResult result, List<String> previews) {
+        if (result.getInfeasibilityReason() != null) {
+            System.out.println("Goal is unreachable: " + result.getInfeasibilityReason());
+            System.out.println("Status: " + result.getStatus());
+            return;
+        }
+        // Timings differ between runs, so they stay out of the batch output on stdout.
+        System.err.println("Search statistics: " + result.getStatistics());
+        if (!result.getAnytimeSolutions().isEmpty()) {
+            System.out.println("Anytime plans: " + result.getAnytimeSolutions().size());
+        }
+        printSolutions(result, previews);
+        // How the search ended follows the solutions, so their lines keep the order scripts expect.
+        if (!result.getPartialSolution().isEmpty()) {
+            System.out.println("Best partial path: " + result.getPartialSolution());
+        }
+        System.out.println("Status: " + result.getStatus());
+    }
+
+    private static void printSolutions(SolverResult result, List<String> previews) {
+        if (result.getSolveMode().isShortestPath()) {
             List<Transfer> shortestSolution = result.getShortestSolution();
             if (shortestSolution == null) {
                 System.out.println("No solution found.");
@@ -43,12 +87,30 @@ public class ConfigMain {
             return;
         }
 
-        List<List<Transfer>> allSolutions = result.getAllSolutions();
-        System.out.println("Solutions found: " + allSolutions.size());
-        for (int i = 0; i < Math.min(allSolutions.size(), BATCH_PREVIEW_LIMIT); i++) {
-            List<Transfer> solution = allSolutions.get(i);
-            int totalCost = solution.stream().mapToInt(Transfer::getWeight).sum();
-            System.out.println("Solution " + (i + 1) + ": steps=" + solution.size() + ", totalCost=" + totalCost);
+        if (result.getSolveMode() == SolveMode.COUNT_SOLUTIONS) {
+            System.out.println("Solutions counted: " + result.getSolutionTotal());
+            return;
+        }
+        System.out.println("Solutions found: " + result.getSolutionCount());
+        for (String preview : previews) {
+            System.out.println(preview);
+        }
+    }
+
+    /**
+     * Formats the first solutions of an enumeration and lets the rest pass uncounted;
+     * the result reports the total, which is printed before the previews.
+     */
+    private static final class PreviewCollector implements SolutionConsumer {
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public boolean accept(List<Transfer> solution) {
+            if (lines.size() < BATCH_PREVIEW_LIMIT) {
+                int totalCost = solution.stream().mapToInt(Transfer::getWeight).sum();
+                lines.add("Solution " + (lines.size() + 1) + ": steps=" + solution.size() + ", totalCost=" + totalCost);
+            }
+            return true;
         }
     }
 }
@@ -18,6 +18,7 @@ import com.optimumtransfer.heuristics.SingleContainerHeuristic;
 import com.optimumtransfer.heuristics.TotalVolumeHeuristic;
 import com.optimumtransfer.heuristics.ZeroHeuristic;
 import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.search.AnytimeSolution;
 import com.optimumtransfer.visualization.TransferGUI;
 import com.optimumtransfer.visualization.Visualizer;
 
@@ -177,16 +178,16 @@ public class Main {
         switch (customType) {
             case 1:
                 final int total = getValidInt(sc, "Enter total volume required: ", 0, Integer.MAX_VALUE);
-                return state -> Arrays.stream(state.getVolumes()).sum() == total;
+                return state -> state.sum() == total;
             case 2:
                 final int index = getValidInt(sc, "Enter container index: ", 0, numContainers - 1);
                 final int min = getValidInt(sc, "Enter minimum volume: ", 0, capacities[index]);
-                return state -> state.getVolumes()[index] >= min;
+                return state -> state.volumeAt(index) >= min;
             case 3:
                 final int a = getValidInt(sc, "Enter first container index: ", 0, numContainers - 1);
                 final int b = getValidInt(sc, "Enter second container index: ", 0, numContainers - 1);
                 final int sum = getValidInt(sc, "Enter desired combined volume: ", 0, capacities[a] + capacities[b]);
-                return state -> state.getVolumes()[a] + state.getVolumes()[b] == sum;
+                return state -> state.volumeAt(a) + state.volumeAt(b) == sum;
             default:
                 throw new IllegalStateException("Unexpected custom goal option: " + customType);
         }
@@ -297,7 +298,10 @@ public class Main {
         System.out.println("1. Find the shortest (fastest) solution");
         System.out.println("2. Find all valid solutions up to a depth");
         System.out.println("3. Find all valid solutions (capped by maxSolutions)");
-        int solveChoice = getValidInt(sc, "Choice: ", 1, 3);
+        System.out.println("4. Find the shortest solution using as little memory as possible");
+        System.out.println("5. Find a quick solution first, then improve it to the shortest");
+        System.out.println("6. Count the solutions up to a depth without listing them");
+        int solveChoice = getValidInt(sc, "Choice: ", 1, 6);
         sc.nextLine();
 
         SolveMode solveMode = SolveMode.SHORTEST_PATH;
@@ -309,16 +313,32 @@ public class Main {
             sc.nextLine();
         } else if (solveChoice == 3) {
             solveMode = SolveMode.ALL_SOLUTIONS_UNBOUNDED;
+        } else if (solveChoice == 4) {
+            solveMode = SolveMode.SHORTEST_PATH_LOW_MEMORY;
+        } else if (solveChoice == 5) {
+            solveMode = SolveMode.SHORTEST_PATH_ANYTIME;
+        } else if (solveChoice == 6) {
+            solveMode = SolveMode.COUNT_SOLUTIONS;
+            maxDepth = getValidInt(sc, "Enter max depth: ", 1, Integer.MAX_VALUE - 1);
+            sc.nextLine();
         }
 
         return new SolverRequest(capacities, startVolumes, goal, constraints, heuristic, solveMode, maxDepth);
     }
 
     private void handleResult(Scanner sc, SolverResult result) {
-        if (result.getSolveMode() == SolveMode.SHORTEST_PATH) {
+        if (result.getInfeasibilityReason() != null) {
+            System.out.println("\nGoal is unreachable: " + result.getInfeasibilityReason());
+            return;
+        }
+        if (result.getSolveMode().isShortestPath()) {
             handleShortestPathResult(sc, result);
             return;
         }
+        if (result.getSolveMode() == SolveMode.COUNT_SOLUTIONS) {
+            System.out.println("\nSolutions counted: " + result.getSolutionTotal());
+            return;
+        }
 
         List<List<Transfer>> allSolutions = result.getAllSolutions();
         printAllSolutions(allSolutions);
@@ -326,6 +346,9 @@ public class Main {
     }
 
     private void handleShortestPathResult(Scanner sc, SolverResult result) {
+        for (AnytimeSolution plan : result.getAnytimeSolutions()) {
+            System.out.println("Plan found: " + plan);
+        }
         List<Transfer> shortestSolution = result.getShortestSolution();
         if (shortestSolution == null) {
             System.out.println("\nNo solution found.");
@@ -0,0 +1,316 @@
+package com.optimumtransfer.application;
+
+import com.optimumtransfer.constraints.RouteConstraint;
+import com.optimumtransfer.constraints.TransferConstraint;
+import com.optimumtransfer.goals.EvenDistributionGoal;
+import com.optimumtransfer.goals.ExactMatchGoal;
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.goals.SingleContainerGoal;
+import com.optimumtransfer.heuristics.EvenDistributionHeuristic;
+import com.optimumtransfer.heuristics.Heuristic;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.model.TransferTopology;
+import com.optimumtransfer.search.AnytimeListener;
+import com.optimumtransfer.search.AnytimeSolution;
+import com.optimumtransfer.search.SearchOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cheap, sound checks that run before any search.
+ *
+ * Every transfer conserves the total volume, and pours move min(source volume, free
+ * space), so when all capacities and starting volumes share a divisor g, every volume
+ * stays a multiple of g. Volume also only moves along open routes: a set of containers
+ * that no route enters can only lose volume, and a set that no route leaves can only
+ * gain it. A goal that breaks any of these can be rejected without searching. Dynamic
+ * constraints only remove moves, so ignoring them keeps every check sound.
+ */
+public class FeasibilityAnalyzer {
+    private static final int MAX_ROUTE_CLOSURE_CONTAINERS = 1024;
+
+    /**
+     * Returns why the request's goal can never be reached, or null if no check proves it.
+     */
+    public String findInfeasibility(SolverRequest request) {
+        GoalCondition goal = request.getGoal();
+        int[] capacities = request.getCapacities();
+        int[] start = request.getStartVolumes();
+        if (!hasNonNegativeVolumes(capacities, start)) {
+            return null;
+        }
+
+        long total = sum(start);
+        int divisor = commonDivisor(capacities, start);
+        if (goal instanceof ExactMatchGoal) {
+            int[] target = ((ExactMatchGoal) goal).getTargetVolumes();
+            if (target.length != start.length) {
+                return "Target has " + target.length + " volumes for " + start.length + " containers.";
+            }
+            if (sum(target) != total) {
+                return "Target total " + sum(target) + " differs from the conserved total " + total + ".";
+            }
+            for (int i = 0; i < target.length; i++) {
+                String reason = checkVolume(i, target[i], capacities[i], start[i], divisor);
+                if (reason != null) {
+                    return reason;
+                }
+            }
+            return checkRouteClosures(request, target);
+        }
+        if (goal instanceof SingleContainerGoal) {
+            SingleContainerGoal single = (SingleContainerGoal) goal;
+            int index = single.getIndex();
+            if (index < 0 || index >= start.length) {
+                return "Goal container " + index + " does not exist.";
+            }
+            if (single.getDesiredVolume() > total) {
+                return "Container " + index + " cannot hold more than the total volume " + total + ".";
+            }
+            return checkVolume(index, single.getDesiredVolume(), capacities[index], start[index], divisor);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the divisor every volume in the request can be divided by without changing
+     * which transfer sequences solve it, or 1 when the request cannot be rescaled safely.
+     * Only goals, heuristics and constraints that are unaffected by scaling qualify.
+     */
+    public int scaleFactor(SolverRequest request) {
+        int[] capacities = request.getCapacities();
+        int[] start = request.getStartVolumes();
+        if (!hasNonNegativeVolumes(capacities, start) || !isScaleFree(request)) {
+            return 1;
+        }
+
+        int divisor = commonDivisor(capacities, start);
+        GoalCondition goal = request.getGoal();
+        if (goal instanceof ExactMatchGoal) {
+            for (int volume : ((ExactMatchGoal) goal).getTargetVolumes()) {
+                divisor = gcd(divisor, volume);
+            }
+        } else if (goal instanceof SingleContainerGoal) {
+            divisor = gcd(divisor, ((SingleContainerGoal) goal).getDesiredVolume());
+        }
+        return Math.max(divisor, 1);
+    }
+
+    /**
+     * Returns a copy of the request with every volume divided by {@code factor}. An
+     * anytime listener is wrapped so that it still sees plans in the original volumes.
+     */
+    public SolverRequest rescale(SolverRequest request, int factor) {
+        return new SolverRequest(
+                divide(request.getCapacities(), factor),
+                divide(request.getStartVolumes(), factor),
+                rescaleGoal(request.getGoal(), factor),
+                request.getConstraints(),
+                request.getHeuristic(),
+                request.getSolveMode(),
+                request.getMaxDepth(),
+                request.getMaxSolutions(),
+                request.getTopology(),
+                rescaleOptions(request.getSearchOptions(), factor)
+        );
+    }
+
+    /**
+     * Maps a path of a rescaled request back to the original volumes.
+     */
+    public List<Transfer> scalePath(List<Transfer> path, int factor) {
+        if (path == null) {
+            return null;
+        }
+
+        List<Transfer> scaled = new ArrayList<>(path.size());
+        for (Transfer transfer : path) {
+            scaled.add(new Transfer(transfer.getFromContainer(), transfer.getToContainer(),
+                    transfer.getAmount() * factor, transfer.getWeight() * factor));
+        }
+        return scaled;
+    }
+
+    /**
+     * Maps an anytime plan of a rescaled request back to the original volumes. Costs
+     * scale linearly, so the suboptimality bound is unchanged.
+     */
+    public AnytimeSolution scaleSolution(AnytimeSolution solution, int factor) {
+        return new AnytimeSolution(scalePath(solution.getPath(), factor), solution.getCost() * factor,
+                solution.getSuboptimalityBound(), solution.getElapsedNanos());
+    }
+
+    private SearchOptions rescaleOptions(SearchOptions options, int factor) {
+        AnytimeListener listener = options.getAnytimeListener();
+        if (listener == null) {
+            return options;
+        }
+        return options.withAnytimeListener(solution -> listener.onSolution(scaleSolution(solution, factor)));
+    }
+
+    private static boolean isScaleFree(SolverRequest request) {
+        GoalCondition goal = request.getGoal();
+        if (!(goal instanceof ExactMatchGoal || goal instanceof SingleContainerGoal || goal instanceof EvenDistributionGoal)) {
+            return false;
+        }
+
+        Heuristic heuristic = request.getHeuristic();
+        if (!(heuristic instanceof ZeroHeuristic || heuristic instanceof EvenDistributionHeuristic)) {
+            return false;
+        }
+
+        for (TransferConstraint constraint : request.getConstraints()) {
+            if (!(constraint instanceof RouteConstraint)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static GoalCondition rescaleGoal(GoalCondition goal, int factor) {
+        if (goal instanceof ExactMatchGoal) {
+            return new ExactMatchGoal(divide(((ExactMatchGoal) goal).getTargetVolumes(), factor));
+        }
+        if (goal instanceof SingleContainerGoal) {
+            SingleContainerGoal single = (SingleContainerGoal) goal;
+            return new SingleContainerGoal(single.getIndex(), single.getDesiredVolume() / factor);
+        }
+        return goal;
+    }
+
+    private static String checkVolume(int index, int volume, int capacity, int startVolume, int divisor) {
+        if (volume < 0) {
+            return "Container " + index + " cannot hold a negative volume.";
+        }
+        if (volume > Math.max(capacity, startVolume)) {
+            return "Container " + index + " can never hold " + volume + ".";
+        }
+        if (divisor > 1 && volume % divisor != 0) {
+            return "Container " + index + " only ever holds multiples of " + divisor + ".";
+        }
+        return null;
+    }
+
+    /**
+     * Checks, for each container, the set of containers that can route volume into it
+     * (which nothing outside can feed) and the set it can route volume to (which nothing
+     * inside can drain). Skipped for very large container counts, where the quadratic
+     * closure work would outweigh the benefit.
+     */
+    private static String checkRouteClosures(SolverRequest request, int[] target) {
+        int[] start = request.getStartVolumes();
+        int n = start.length;
+        if (n > MAX_ROUTE_CLOSURE_CONTAINERS) {
+            return null;
+        }
+
+        List<List<Integer>> forward = new ArrayList<>(n);
+        List<List<Integer>> backward = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            forward.add(new ArrayList<>());
+            backward.add(new ArrayList<>());
+        }
+        TransferTopology topology = request.getTopology();
+        for (int from = 0; from < n; from++) {
+            for (int to : topology.getTargets(from)) {
+                if (allowsRoute(request.getConstraints(), from, to)) {
+                    forward.get(from).add(to);
+                    backward.get(to).add(from);
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            long[] feeding = closureSums(backward, i, start, target);
+            if (feeding[1] > feeding[0]) {
+                return "Containers feeding container " + i + " hold " + feeding[0]
+                        + " in total but the target needs " + feeding[1] + ".";
+            }
+            long[] drained = closureSums(forward, i, start, target);
+            if (drained[1] < drained[0]) {
+                return "Containers reachable from container " + i + " hold " + drained[0]
+                        + " in total and can never shrink to " + drained[1] + ".";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the start and target totals over every container reachable from
+     * {@code origin} along {@code edges}, including the origin itself.
+     */
+    private static long[] closureSums(List<List<Integer>> edges, int origin, int[] start, int[] target) {
+        boolean[] seen = new boolean[start.length];
+        int[] stack = new int[start.length];
+        int size = 0;
+        stack[size++] = origin;
+        seen[origin] = true;
+        long[] sums = new long[2];
+
+        while (size > 0) {
+            int container = stack[--size];
+            sums[0] += start[container];
+            sums[1] += target[container];
+            for (int next : edges.get(container)) {
+                if (!seen[next]) {
+                    seen[next] = true;
+                    stack[size++] = next;
+                }
+            }
+        }
+        return sums;
+    }
+
+    private static boolean allowsRoute(List<TransferConstraint> constraints, int from, int to) {
+        for (TransferConstraint constraint : constraints) {
+            if (constraint instanceof RouteConstraint && !((RouteConstraint) constraint).allowsRoute(from, to)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasNonNegativeVolumes(int[] capacities, int[] start) {
+        for (int i = 0; i < start.length; i++) {
+            if (capacities[i] < 0 || start[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int commonDivisor(int[] capacities, int[] start) {
+        int divisor = 0;
+        for (int i = 0; i < start.length; i++) {
+            divisor = gcd(gcd(divisor, capacities[i]), start[i]);
+        }
+        return divisor;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return Math.abs(a);
+    }
+
+    private static int[] divide(int[] volumes, int factor) {
+        int[] divided = new int[volumes.length];
+        for (int i = 0; i < volumes.length; i++) {
+            divided[i] = volumes[i] / factor;
+        }
+        return divided;
+    }
+
+    private static long sum(int[] volumes) {
+        long total = 0;
+        for (int volume : volumes) {
+            total += volume;
+        }
+        return total;
+    }
+}
@@ -2,6 +2,16 @@ package com.optimumtransfer.application;
 
 public enum SolveMode {
     SHORTEST_PATH,
+    SHORTEST_PATH_LOW_MEMORY,
+    SHORTEST_PATH_ANYTIME,
     ALL_SOLUTIONS_WITH_DEPTH,
-    ALL_SOLUTIONS_UNBOUNDED
+    ALL_SOLUTIONS_UNBOUNDED,
+    COUNT_SOLUTIONS;
+
+    /**
+     * Returns whether the mode produces a single optimal solution rather than a list.
+     */
+    public boolean isShortestPath() {
+        return this == SHORTEST_PATH || this == SHORTEST_PATH_LOW_MEMORY || this == SHORTEST_PATH_ANYTIME;
+    }
 }
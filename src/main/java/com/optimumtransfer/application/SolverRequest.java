@@ -3,6 +3,8 @@ package com.optimumtransfer.application;
 import com.optimumtransfer.constraints.TransferConstraint;
 import com.optimumtransfer.goals.GoalCondition;
 import com.optimumtransfer.heuristics.Heuristic;
+import com.optimumtransfer.model.TransferTopology;
+import com.optimumtransfer.search.SearchOptions;
 
 import java.util.List;
 import java.util.Objects;
@@ -19,6 +21,8 @@ public class SolverRequest {
     private final SolveMode solveMode;
     private final int maxDepth;
     private final int maxSolutions;
+    private final TransferTopology topology;
+    private final SearchOptions searchOptions;
 
     public SolverRequest(int[] capacities,
                          int[] startVolumes,
@@ -38,6 +42,32 @@ public class SolverRequest {
                          SolveMode solveMode,
                          int maxDepth,
                          int maxSolutions) {
+        this(capacities, startVolumes, goal, constraints, heuristic, solveMode, maxDepth, maxSolutions, SearchOptions.defaults());
+    }
+
+    public SolverRequest(int[] capacities,
+                         int[] startVolumes,
+                         GoalCondition goal,
+                         List<TransferConstraint> constraints,
+                         Heuristic heuristic,
+                         SolveMode solveMode,
+                         int maxDepth,
+                         int maxSolutions,
+                         SearchOptions searchOptions) {
+        this(capacities, startVolumes, goal, constraints, heuristic, solveMode, maxDepth, maxSolutions,
+                completeTopology(capacities), searchOptions);
+    }
+
+    public SolverRequest(int[] capacities,
+                         int[] startVolumes,
+                         GoalCondition goal,
+                         List<TransferConstraint> constraints,
+                         Heuristic heuristic,
+                         SolveMode solveMode,
+                         int maxDepth,
+                         int maxSolutions,
+                         TransferTopology topology,
+                         SearchOptions searchOptions) {
         this.capacities = requireArray(capacities, "capacities");
         this.startVolumes = requireArray(startVolumes, "startVolumes");
         this.goal = Objects.requireNonNull(goal, "goal cannot be null");
@@ -45,11 +75,19 @@ public class SolverRequest {
         this.heuristic = Objects.requireNonNull(heuristic, "heuristic cannot be null");
         this.solveMode = Objects.requireNonNull(solveMode, "solveMode cannot be null");
         this.maxDepth = validateMaxDepth(maxDepth);
+        if (solveMode == SolveMode.COUNT_SOLUTIONS && maxDepth == UNBOUNDED_DEPTH) {
+            throw new IllegalArgumentException("COUNT_SOLUTIONS needs a bounded maxDepth.");
+        }
         this.maxSolutions = validateMaxSolutions(maxSolutions);
+        this.topology = Objects.requireNonNull(topology, "topology cannot be null");
+        this.searchOptions = Objects.requireNonNull(searchOptions, "searchOptions cannot be null");
 
         if (this.capacities.length != this.startVolumes.length) {
             throw new IllegalArgumentException("capacities and startVolumes must have the same length.");
         }
+        if (this.topology.getContainerCount() != this.capacities.length) {
+            throw new IllegalArgumentException("topology must have one node per container.");
+        }
     }
 
     public int[] getCapacities() {
@@ -84,6 +122,18 @@ public class SolverRequest {
         return maxSolutions;
     }
 
+    public TransferTopology getTopology() {
+        return topology;
+    }
+
+    public SearchOptions getSearchOptions() {
+        return searchOptions;
+    }
+
+    private static TransferTopology completeTopology(int[] capacities) {
+        return TransferTopology.complete(Objects.requireNonNull(capacities, "capacities cannot be null").length);
+    }
+
     private static int[] requireArray(int[] values, String name) {
         Objects.requireNonNull(values, name + " cannot be null");
         return values.clone();
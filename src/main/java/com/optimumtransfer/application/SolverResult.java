@@ -1,7 +1,12 @@
 package com.optimumtransfer.application;
 
 import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.search.AnytimeSolution;
+import com.optimumtransfer.search.SearchStatistics;
+import com.optimumtransfer.search.SearchStatus;
+import com.optimumtransfer.search.SolutionStore;
 
+import java.math.BigInteger;
 import java.util.List;
 import java.util.Objects;
 
@@ -11,17 +16,49 @@ public class SolverResult {
     private final int[] startVolumes;
     private final List<Transfer> shortestSolution;
     private final List<List<Transfer>> allSolutions;
+    private final SearchStatistics statistics;
+    private final SearchStatus status;
+    private final List<Transfer> partialSolution;
+    private final List<AnytimeSolution> anytimeSolutions;
+    private final BigInteger solutionTotal;
+    private final String infeasibilityReason;
 
     public SolverResult(SolveMode solveMode,
                         int[] capacities,
                         int[] startVolumes,
                         List<Transfer> shortestSolution,
                         List<List<Transfer>> allSolutions) {
-        this.solveMode = Objects.requireNonNull(solveMode, "solveMode cannot be null");
-        this.capacities = Objects.requireNonNull(capacities, "capacities cannot be null").clone();
-        this.startVolumes = Objects.requireNonNull(startVolumes, "startVolumes cannot be null").clone();
-        this.shortestSolution = shortestSolution == null ? null : List.copyOf(shortestSolution);
-        this.allSolutions = copySolutions(allSolutions);
+        this(builder(solveMode, capacities, startVolumes)
+                .shortestSolution(shortestSolution)
+                .allSolutions(allSolutions)
+                .status(shortestSolution != null || (allSolutions != null && !allSolutions.isEmpty())
+                        ? SearchStatus.SOLVED
+                        : SearchStatus.NO_SOLUTION)
+                .solutionTotal(allSolutions != null && !allSolutions.isEmpty()
+                        ? allSolutions.size()
+                        : shortestSolution == null ? 0 : 1));
+    }
+
+    private SolverResult(Builder builder) {
+        this.solveMode = Objects.requireNonNull(builder.solveMode, "solveMode cannot be null");
+        this.capacities = Objects.requireNonNull(builder.capacities, "capacities cannot be null").clone();
+        this.startVolumes = Objects.requireNonNull(builder.startVolumes, "startVolumes cannot be null").clone();
+        this.shortestSolution = builder.shortestSolution == null ? null : List.copyOf(builder.shortestSolution);
+        this.allSolutions = copySolutions(builder.allSolutions);
+        this.statistics = Objects.requireNonNull(builder.statistics, "statistics cannot be null");
+        this.status = Objects.requireNonNull(builder.status, "status cannot be null");
+        this.partialSolution = builder.partialSolution == null ? List.of() : List.copyOf(builder.partialSolution);
+        this.anytimeSolutions = builder.anytimeSolutions == null ? List.of() : List.copyOf(builder.anytimeSolutions);
+        this.solutionTotal = Objects.requireNonNull(builder.solutionTotal, "solutionTotal cannot be null");
+        this.infeasibilityReason = builder.infeasibilityReason;
+    }
+
+    /**
+     * Starts a result for one run. Everything not set stays empty: no solutions, empty
+     * statistics, status {@link SearchStatus#NO_SOLUTION} and a count of zero.
+     */
+    static Builder builder(SolveMode solveMode, int[] capacities, int[] startVolumes) {
+        return new Builder(solveMode, capacities, startVolumes);
     }
 
     public SolveMode getSolveMode() {
@@ -37,11 +74,76 @@ public class SolverResult {
     }
 
     public List<Transfer> getShortestSolution() {
-        return shortestSolution == null ? null : List.copyOf(shortestSolution);
+        return shortestSolution;
     }
 
+    /**
+     * Returns the collected solutions of an enumeration mode. The list and its paths are
+     * immutable, so no copy is made. A run that streamed its solutions to a consumer
+     * collects none; see {@link #getSolutionCount()}.
+     */
     public List<List<Transfer>> getAllSolutions() {
-        return copySolutions(allSolutions);
+        return allSolutions;
+    }
+
+    /**
+     * Returns how many solutions the search produced, whether they were collected here
+     * or streamed to a consumer.
+     *
+     * @throws ArithmeticException if the count exceeds {@link Long#MAX_VALUE}, which only
+     *                             {@link SolveMode#COUNT_SOLUTIONS} reaches; use
+     *                             {@link #getSolutionTotal()} for those counts.
+     */
+    public long getSolutionCount() {
+        return solutionTotal.longValueExact();
+    }
+
+    /**
+     * Returns the exact number of solutions the search produced or counted.
+     */
+    public BigInteger getSolutionTotal() {
+        return solutionTotal;
+    }
+
+    /**
+     * Returns the work the search did to produce this result; empty when no search ran.
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns how the search ended. A status that stopped early still carries whatever
+     * the search found: enumeration modes keep their solutions so far, and shortest-path
+     * modes offer {@link #getPartialSolution()}.
+     */
+    public SearchStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the best partial path of a shortest-path search that stopped early, or an
+     * empty list. It may already reach the goal without being proven cheapest.
+     */
+    public List<Transfer> getPartialSolution() {
+        return partialSolution;
+    }
+
+    /**
+     * Returns every plan an anytime search published, oldest first, each cheaper or
+     * better bounded than the one before; empty for the other modes.
+     */
+    public List<AnytimeSolution> getAnytimeSolutions() {
+        return anytimeSolutions;
+    }
+
+    /**
+     * Returns why the goal was proven unreachable before any search ran, or null when a
+     * search ran. A {@link SearchStatus#NO_SOLUTION} result without a reason means the
+     * search itself found nothing.
+     */
+    public String getInfeasibilityReason() {
+        return infeasibilityReason;
     }
 
     public boolean hasShortestSolution() {
@@ -52,9 +154,80 @@ public class SolverResult {
         if (solutions == null) {
             return List.of();
         }
+        if (solutions instanceof SolutionStore) {
+            return solutions;
+        }
 
         return solutions.stream()
                 .map(List::copyOf)
                 .toList();
     }
+
+    static final class Builder {
+        private final SolveMode solveMode;
+        private final int[] capacities;
+        private final int[] startVolumes;
+        private List<Transfer> shortestSolution;
+        private List<List<Transfer>> allSolutions;
+        private SearchStatistics statistics = SearchStatistics.empty();
+        private SearchStatus status = SearchStatus.NO_SOLUTION;
+        private List<Transfer> partialSolution;
+        private List<AnytimeSolution> anytimeSolutions;
+        private BigInteger solutionTotal = BigInteger.ZERO;
+        private String infeasibilityReason;
+
+        private Builder(SolveMode solveMode, int[] capacities, int[] startVolumes) {
+            this.solveMode = solveMode;
+            this.capacities = capacities;
+            this.startVolumes = startVolumes;
+        }
+
+        Builder shortestSolution(List<Transfer> solution) {
+            this.shortestSolution = solution;
+            return this;
+        }
+
+        Builder allSolutions(List<List<Transfer>> solutions) {
+            this.allSolutions = solutions;
+            return this;
+        }
+
+        Builder statistics(SearchStatistics statistics) {
+            this.statistics = statistics;
+            return this;
+        }
+
+        Builder status(SearchStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        Builder partialSolution(List<Transfer> path) {
+            this.partialSolution = path;
+            return this;
+        }
+
+        Builder anytimeSolutions(List<AnytimeSolution> plans) {
+            this.anytimeSolutions = plans;
+            return this;
+        }
+
+        Builder solutionTotal(long total) {
+            return solutionTotal(BigInteger.valueOf(total));
+        }
+
+        Builder solutionTotal(BigInteger total) {
+            this.solutionTotal = total;
+            return this;
+        }
+
+        Builder infeasibilityReason(String reason) {
+            this.infeasibilityReason = reason;
+            return this;
+        }
+
+        SolverResult build() {
+            return new SolverResult(this);
+        }
+    }
 }
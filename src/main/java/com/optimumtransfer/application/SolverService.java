@@ -1,44 +1,165 @@
 package com.optimumtransfer.application;
 
+import com.optimumtransfer.goals.ExactMatchGoal;
 import com.optimumtransfer.model.State;
 import com.optimumtransfer.model.Transfer;
 import com.optimumtransfer.search.AStar;
+import com.optimumtransfer.search.AnytimeSolution;
+import com.optimumtransfer.search.SearchOptions;
+import com.optimumtransfer.search.SearchOutcome;
+import com.optimumtransfer.search.SearchStatus;
+import com.optimumtransfer.search.SolutionConsumer;
+import com.optimumtransfer.search.SolutionStore;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 
 public class SolverService {
+    private final FeasibilityAnalyzer feasibilityAnalyzer = new FeasibilityAnalyzer();
+
+    /**
+     * Rejects provably unreachable goals before searching, reporting why through
+     * {@link SolverResult#getInfeasibilityReason()}, and searches a rescaled copy of the
+     * request when every volume shares a common divisor.
+     */
     public SolverResult solve(SolverRequest request) {
-        AStar solver = new AStar(request.getCapacities(), request.getConstraints(), request.getHeuristic());
+        return solve(request, null);
+    }
+
+    /**
+     * Solves like {@link #solve(SolverRequest)}, but passes every solution to
+     * {@code consumer} as soon as it is found. Enumeration modes then keep no solutions
+     * in the result, only their count, so memory no longer grows with
+     * {@code maxSolutions}; shortest-path modes hand over their one solution and still
+     * return it. The counting mode builds no solutions, so the consumer receives none.
+     * A null consumer collects solutions into the result as usual.
+     */
+    public SolverResult solve(SolverRequest request, SolutionConsumer consumer) {
+        String infeasibility = feasibilityAnalyzer.findInfeasibility(request);
+        if (infeasibility != null) {
+            return resultFor(request).infeasibilityReason(infeasibility).build();
+        }
+
+        int scale = feasibilityAnalyzer.scaleFactor(request);
+        if (scale == 1) {
+            return search(request, consumer);
+        }
+
+        SolutionConsumer scaledConsumer = consumer == null
+                ? null
+                : solution -> consumer.accept(feasibilityAnalyzer.scalePath(solution, scale));
+        SolverResult scaled = search(feasibilityAnalyzer.rescale(request, scale), scaledConsumer);
+        SolutionStore.Builder solutions = SolutionStore.builder();
+        for (List<Transfer> solution : scaled.getAllSolutions()) {
+            solutions.accept(feasibilityAnalyzer.scalePath(solution, scale));
+        }
+        List<AnytimeSolution> anytimeSolutions = new ArrayList<>();
+        for (AnytimeSolution solution : scaled.getAnytimeSolutions()) {
+            anytimeSolutions.add(feasibilityAnalyzer.scaleSolution(solution, scale));
+        }
+        return resultFor(request)
+                .shortestSolution(feasibilityAnalyzer.scalePath(scaled.getShortestSolution(), scale))
+                .allSolutions(solutions.build())
+                .statistics(scaled.getStatistics())
+                .status(scaled.getStatus())
+                .partialSolution(feasibilityAnalyzer.scalePath(scaled.getPartialSolution(), scale))
+                .anytimeSolutions(anytimeSolutions)
+                .solutionTotal(scaled.getSolutionTotal())
+                .build();
+    }
+
+    private SolverResult search(SolverRequest request, SolutionConsumer consumer) {
+        AStar solver = new AStar(request.getCapacities(), request.getTopology(), request.getConstraints(),
+                request.getHeuristic(), request.getSearchOptions());
         State start = new State(request.getStartVolumes());
 
+        SolverResult result;
         if (request.getSolveMode() == SolveMode.SHORTEST_PATH) {
-            return buildShortestResult(request, solver, start);
+            result = buildShortestResult(request, solveShortest(request, solver, start));
+        } else if (request.getSolveMode() == SolveMode.SHORTEST_PATH_LOW_MEMORY) {
+            result = buildShortestResult(request, solver.searchIterativeDeepening(start, request.getGoal()));
+        } else if (request.getSolveMode() == SolveMode.SHORTEST_PATH_ANYTIME) {
+            result = buildAnytimeResult(request, solver.searchAnytime(start, request.getGoal()));
+        } else if (request.getSolveMode() == SolveMode.COUNT_SOLUTIONS) {
+            return buildCountResult(request, solver.searchSolutionCount(start, request.getGoal(), request.getMaxDepth()));
+        } else {
+            int maxDepth = request.getSolveMode() == SolveMode.ALL_SOLUTIONS_WITH_DEPTH
+                    ? request.getMaxDepth()
+                    : Integer.MAX_VALUE;
+            if (consumer == null) {
+                SearchOutcome<List<List<Transfer>>> outcome = solver.searchAllSolutions(start, request.getGoal(), maxDepth,
+                        request.getMaxSolutions());
+                return buildAllSolutionsResult(request, outcome, outcome.getValue(), outcome.getValue().size());
+            }
+            SearchOutcome<Long> outcome = solver.searchAllSolutions(start, request.getGoal(), maxDepth,
+                    request.getMaxSolutions(), consumer);
+            return buildAllSolutionsResult(request, outcome, List.of(), outcome.getValue());
         }
-        if (request.getSolveMode() == SolveMode.ALL_SOLUTIONS_WITH_DEPTH) {
-            return buildAllSolutionsResult(request,
-                    solver.findAllSolutions(start, request.getGoal(), request.getMaxDepth(), request.getMaxSolutions()));
+
+        if (consumer != null && result.hasShortestSolution()) {
+            consumer.accept(result.getShortestSolution());
         }
-        return buildAllSolutionsResult(request, solver.findAllPaths(start, request.getGoal(), request.getMaxSolutions()));
-    }
-
-    private SolverResult buildShortestResult(SolverRequest request, AStar solver, State start) {
-        List<Transfer> shortestSolution = solver.solve(start, request.getGoal());
-        return new SolverResult(
-                request.getSolveMode(),
-                request.getCapacities(),
-                request.getStartVolumes(),
-                shortestSolution,
-                List.of()
-        );
-    }
-
-    private SolverResult buildAllSolutionsResult(SolverRequest request, List<List<Transfer>> solutions) {
-        return new SolverResult(
-                request.getSolveMode(),
-                request.getCapacities(),
-                request.getStartVolumes(),
-                null,
-                solutions
-        );
+        return result;
+    }
+
+    /**
+     * Exact-match goals name a single target state, so a single-worker run can search
+     * from both ends and meet in the middle instead of growing one frontier all the way.
+     */
+    private SearchOutcome<List<Transfer>> solveShortest(SolverRequest request, AStar solver, State start) {
+        SearchOptions options = request.getSearchOptions();
+        if (request.getGoal() instanceof ExactMatchGoal && options.isBidirectional() && options.getParallelism() == 1) {
+            return solver.searchBidirectional(start, ((ExactMatchGoal) request.getGoal()).getTargetVolumes());
+        }
+        return solver.searchShortest(start, request.getGoal());
+    }
+
+    private SolverResult buildShortestResult(SolverRequest request, SearchOutcome<List<Transfer>> outcome) {
+        return resultFor(request, outcome)
+                .shortestSolution(outcome.getValue())
+                .partialSolution(outcome.getPartialPath())
+                .solutionTotal(outcome.getValue() == null ? 0 : 1)
+                .build();
+    }
+
+    /**
+     * Only a plan proven optimal counts as the shortest solution; otherwise the best plan
+     * so far is the partial solution, and the history says how good it is.
+     */
+    private SolverResult buildAnytimeResult(SolverRequest request, SearchOutcome<List<AnytimeSolution>> outcome) {
+        List<AnytimeSolution> history = outcome.getValue();
+        AnytimeSolution best = history.isEmpty() ? null : history.get(history.size() - 1);
+        boolean optimal = best != null && best.isProvenOptimal() && outcome.getStatus() == SearchStatus.SOLVED;
+        return resultFor(request, outcome)
+                .shortestSolution(optimal ? best.getPath() : null)
+                .partialSolution(outcome.getPartialPath())
+                .anytimeSolutions(history)
+                .solutionTotal(optimal ? 1 : 0)
+                .build();
+    }
+
+    private SolverResult buildCountResult(SolverRequest request, SearchOutcome<BigInteger> outcome) {
+        return resultFor(request, outcome)
+                .solutionTotal(outcome.getValue())
+                .build();
+    }
+
+    private SolverResult buildAllSolutionsResult(SolverRequest request, SearchOutcome<?> outcome,
+                                                 List<List<Transfer>> solutions, long solutionCount) {
+        return resultFor(request, outcome)
+                .allSolutions(solutions)
+                .solutionTotal(solutionCount)
+                .build();
+    }
+
+    private static SolverResult.Builder resultFor(SolverRequest request) {
+        return SolverResult.builder(request.getSolveMode(), request.getCapacities(), request.getStartVolumes());
+    }
+
+    private static SolverResult.Builder resultFor(SolverRequest request, SearchOutcome<?> outcome) {
+        return resultFor(request)
+                .statistics(outcome.getStatistics())
+                .status(outcome.getStatus());
     }
 }
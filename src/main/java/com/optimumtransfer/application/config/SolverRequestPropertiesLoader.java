@@ -14,11 +14,16 @@ import com.optimumtransfer.heuristics.Heuristic;
 import com.optimumtransfer.heuristics.SingleContainerHeuristic;
 import com.optimumtransfer.heuristics.TotalVolumeHeuristic;
 import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.model.TransferTopology;
+import com.optimumtransfer.search.OpenListType;
+import com.optimumtransfer.search.PartialOrderReduction;
+import com.optimumtransfer.search.SearchOptions;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -47,6 +52,23 @@ public class SolverRequestPropertiesLoader {
     private static final String MIN_TRANSFER_KEY = "constraints.minTransfer";
     private static final String BLOCK_RECEIVING_KEY = "constraints.blockReceiving";
     private static final String ONLY_EVEN_SENDERS_KEY = "constraints.onlyEvenSenders";
+    private static final String TOPOLOGY_EDGES_KEY = "topology.edges";
+    private static final String OPEN_LIST_KEY = "search.openList";
+    private static final String PARALLELISM_KEY = "search.parallelism";
+    private static final String DETERMINISTIC_ORDER_KEY = "search.deterministicOrder";
+    private static final String TRANSPOSITION_TABLE_ENTRIES_KEY = "search.transpositionTableEntries";
+    private static final String BIDIRECTIONAL_KEY = "search.bidirectional";
+    private static final String SYMMETRY_REDUCTION_KEY = "search.symmetryReduction";
+    private static final String PROGRESS_INTERVAL_KEY = "search.progressInterval";
+    private static final String TIME_LIMIT_MS_KEY = "search.timeLimitMs";
+    private static final String MAX_EXPANSIONS_KEY = "search.maxExpansions";
+    private static final String MAX_STATES_KEY = "search.maxStates";
+    private static final String ANYTIME_INITIAL_WEIGHT_KEY = "search.anytimeInitialWeight";
+    private static final String ANYTIME_WEIGHT_STEP_KEY = "search.anytimeWeightStep";
+    private static final String PARTIAL_ORDER_REDUCTION_KEY = "search.partialOrderReduction";
+    private static final String DENSE_TABLE_BUDGET_MB_KEY = "search.denseTableBudgetMb";
+    private static final String DEAD_END_MEMO_MB_KEY = "search.deadEndMemoMb";
+    private static final long BYTES_PER_MB = 1024L * 1024;
     private static final String DEFAULT_GOAL_TYPE = "EXACT_MATCH";
     private static final String DEFAULT_HEURISTIC_TYPE = "ZERO";
 
@@ -71,8 +93,85 @@ public class SolverRequestPropertiesLoader {
         SolveMode solveMode = SolveMode.valueOf(readUpperCase(properties, SOLVE_MODE_KEY, SolveMode.SHORTEST_PATH.name()));
         int maxDepth = Integer.parseInt(properties.getProperty(MAX_DEPTH_KEY, String.valueOf(SolverRequest.UNBOUNDED_DEPTH)).trim());
         int maxSolutions = Integer.parseInt(properties.getProperty(MAX_SOLUTIONS_KEY, String.valueOf(SolverRequest.DEFAULT_MAX_SOLUTIONS)).trim());
+        TransferTopology topology = buildTopology(properties, capacities.length);
+        SearchOptions searchOptions = buildSearchOptions(properties);
 
-        return new SolverRequest(capacities, startVolumes, goal, constraints, heuristic, solveMode, maxDepth, maxSolutions);
+        return new SolverRequest(capacities, startVolumes, goal, constraints, heuristic, solveMode, maxDepth, maxSolutions,
+                topology, searchOptions);
+    }
+
+    private TransferTopology buildTopology(Properties properties, int containerCount) {
+        String edges = properties.getProperty(TOPOLOGY_EDGES_KEY, "").trim();
+        if (edges.isEmpty()) {
+            return TransferTopology.complete(containerCount);
+        }
+
+        List<int[]> parsedEdges = new ArrayList<int[]>();
+        for (String edge : splitCsv(edges)) {
+            parsedEdges.add(parseRoute(edge, "Invalid topology edge: "));
+        }
+        return TransferTopology.of(containerCount, parsedEdges);
+    }
+
+    private SearchOptions buildSearchOptions(Properties properties) {
+        SearchOptions options = SearchOptions.defaults();
+        options = options.withOpenListType(OpenListType.valueOf(
+                readUpperCase(properties, OPEN_LIST_KEY, options.getOpenListType().name())));
+
+        String denseBudget = properties.getProperty(DENSE_TABLE_BUDGET_MB_KEY);
+        if (denseBudget != null && !denseBudget.isBlank()) {
+            options = options.withDenseTableBudgetBytes(Long.parseLong(denseBudget.trim()) * BYTES_PER_MB);
+        }
+
+        String parallelism = readUpperCase(properties, PARALLELISM_KEY, String.valueOf(options.getParallelism()));
+        options = options.withParallelism("AUTO".equals(parallelism)
+                ? Runtime.getRuntime().availableProcessors()
+                : Integer.parseInt(parallelism));
+        options = options.withDeterministicOrder(Boolean.parseBoolean(
+                properties.getProperty(DETERMINISTIC_ORDER_KEY, String.valueOf(options.isDeterministicOrder())).trim()));
+
+        String transpositionEntries = properties.getProperty(TRANSPOSITION_TABLE_ENTRIES_KEY);
+        if (transpositionEntries != null && !transpositionEntries.isBlank()) {
+            options = options.withTranspositionTableEntries(Integer.parseInt(transpositionEntries.trim()));
+        }
+        options = options.withBidirectional(Boolean.parseBoolean(
+                properties.getProperty(BIDIRECTIONAL_KEY, String.valueOf(options.isBidirectional())).trim()));
+        options = options.withSymmetryReduction(Boolean.parseBoolean(
+                properties.getProperty(SYMMETRY_REDUCTION_KEY, String.valueOf(options.isSymmetryReduction())).trim()));
+
+        String progressInterval = properties.getProperty(PROGRESS_INTERVAL_KEY);
+        if (progressInterval != null && !progressInterval.isBlank()) {
+            options = options.withProgressInterval(Long.parseLong(progressInterval.trim()));
+        }
+
+        String timeLimit = properties.getProperty(TIME_LIMIT_MS_KEY);
+        if (timeLimit != null && !timeLimit.isBlank()) {
+            options = options.withTimeLimit(Duration.ofMillis(Long.parseLong(timeLimit.trim())));
+        }
+        String maxExpansions = properties.getProperty(MAX_EXPANSIONS_KEY);
+        if (maxExpansions != null && !maxExpansions.isBlank()) {
+            options = options.withMaxExpansions(Long.parseLong(maxExpansions.trim()));
+        }
+        String maxStates = properties.getProperty(MAX_STATES_KEY);
+        if (maxStates != null && !maxStates.isBlank()) {
+            options = options.withMaxStates(Long.parseLong(maxStates.trim()));
+        }
+
+        String initialWeight = properties.getProperty(ANYTIME_INITIAL_WEIGHT_KEY);
+        if (initialWeight != null && !initialWeight.isBlank()) {
+            options = options.withAnytimeInitialWeight(Double.parseDouble(initialWeight.trim()));
+        }
+        String weightStep = properties.getProperty(ANYTIME_WEIGHT_STEP_KEY);
+        if (weightStep != null && !weightStep.isBlank()) {
+            options = options.withAnytimeWeightStep(Double.parseDouble(weightStep.trim()));
+        }
+        options = options.withPartialOrderReduction(PartialOrderReduction.valueOf(
+                readUpperCase(properties, PARTIAL_ORDER_REDUCTION_KEY, options.getPartialOrderReduction().name())));
+        String deadEndBudget = properties.getProperty(DEAD_END_MEMO_MB_KEY);
+        if (deadEndBudget != null && !deadEndBudget.isBlank()) {
+            options = options.withDeadEndMemoBudgetBytes(Long.parseLong(deadEndBudget.trim()) * BYTES_PER_MB);
+        }
+        return options;
     }
 
     private GoalCondition buildGoal(Properties properties, int containerCount) {
@@ -121,13 +220,8 @@ public class SolverRequestPropertiesLoader {
         String blockRoutes = properties.getProperty(BLOCK_ROUTES_KEY, "").trim();
         if (!blockRoutes.isEmpty()) {
             for (String route : splitCsv(blockRoutes)) {
-                String[] parts = route.split(">");
-                if (parts.length != 2) {
-                    throw new IllegalArgumentException("Invalid blocked route: " + route);
-                }
-                int from = Integer.parseInt(parts[0].trim());
-                int to = Integer.parseInt(parts[1].trim());
-                constraints.add(TransferConstraints.blockRoute(from, to));
+                int[] parsedRoute = parseRoute(route, "Invalid blocked route: ");
+                constraints.add(TransferConstraints.blockRoute(parsedRoute[0], parsedRoute[1]));
             }
         }
 
@@ -158,6 +252,14 @@ public class SolverRequestPropertiesLoader {
         }
     }
 
+    private int[] parseRoute(String route, String errorPrefix) {
+        String[] parts = route.split(">");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException(errorPrefix + route);
+        }
+        return new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+    }
+
     private int[] parseIntArray(String value) {
         return Arrays.stream(value.split(","))
                 .map(String::trim)
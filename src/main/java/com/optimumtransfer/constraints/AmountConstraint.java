@@ -0,0 +1,28 @@
+package com.optimumtransfer.constraints;
+
+import com.optimumtransfer.model.State;
+
+/**
+ * constraints.AmountConstraint
+ *
+ * Description:
+ * A constraint that only looks at the amount being transferred, never at the state or
+ * the containers involved. It treats every container alike, so it never breaks the
+ * symmetry between interchangeable containers.
+ */
+@FunctionalInterface
+public interface AmountConstraint extends TransferConstraint {
+
+    /**
+     * Determines whether a transfer of the given amount is allowed on any route.
+     *
+     * @param amount The amount that would be transferred.
+     * @return true if the amount is allowed, false otherwise.
+     */
+    boolean allowsAmount(int amount);
+
+    @Override
+    default boolean isAllowed(State state, int from, int to, int amount) {
+        return allowsAmount(amount);
+    }
+}
@@ -0,0 +1,29 @@
+package com.optimumtransfer.constraints;
+
+import com.optimumtransfer.model.State;
+
+/**
+ * constraints.RouteConstraint
+ *
+ * Description:
+ * A static constraint that only looks at the source and target containers, never at
+ * the state or the amount. Solvers fold all route constraints of a request into a
+ * precomputed route table once, instead of evaluating them for every move.
+ */
+@FunctionalInterface
+public interface RouteConstraint extends TransferConstraint {
+
+    /**
+     * Determines whether transfers along a route are ever allowed.
+     *
+     * @param from Index of the source container.
+     * @param to Index of the target container.
+     * @return true if the route is open, false otherwise.
+     */
+    boolean allowsRoute(int from, int to);
+
+    @Override
+    default boolean isAllowed(State state, int from, int to, int amount) {
+        return allowsRoute(from, to);
+    }
+}
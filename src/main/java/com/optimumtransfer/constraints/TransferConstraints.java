@@ -4,23 +4,23 @@ public final class TransferConstraints {
     private TransferConstraints() {
     }
 
-    public static TransferConstraint blockRoute(int from, int to) {
-        return (state, source, target, amount) -> !(source == from && target == to);
+    public static RouteConstraint blockRoute(int from, int to) {
+        return (source, target) -> !(source == from && target == to);
     }
 
-    public static TransferConstraint maxTransfer(int maxAmount) {
-        return (state, source, target, amount) -> amount <= maxAmount;
+    public static AmountConstraint maxTransfer(int maxAmount) {
+        return amount -> amount <= maxAmount;
     }
 
-    public static TransferConstraint minTransfer(int minAmount) {
-        return (state, source, target, amount) -> amount >= minAmount;
+    public static AmountConstraint minTransfer(int minAmount) {
+        return amount -> amount >= minAmount;
     }
 
-    public static TransferConstraint blockReceiver(int blockedReceiver) {
-        return (state, source, target, amount) -> target != blockedReceiver;
+    public static RouteConstraint blockReceiver(int blockedReceiver) {
+        return (source, target) -> target != blockedReceiver;
     }
 
-    public static TransferConstraint onlyEvenSenders() {
-        return (state, source, target, amount) -> source % 2 == 0;
+    public static RouteConstraint onlyEvenSenders() {
+        return (source, target) -> source % 2 == 0;
     }
 }
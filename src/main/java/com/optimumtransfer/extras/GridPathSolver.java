@@ -1,6 +1,7 @@
 package com.optimumtransfer.extras;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,13 +18,21 @@ public class GridPathSolver {
     static class Node implements Comparable<Node> {
         String name;
         int cost;
-        List<String> path;
+        Node parent;
 
-        Node(String n, int c, List<String> p) {
+        Node(String n, int c, Node p) {
             name = n;
             cost = c;
-            path = new ArrayList<>(p);
-            path.add(name);
+            parent = p;
+        }
+
+        List<String> path() {
+            List<String> path = new ArrayList<>();
+            for (Node node = this; node != null; node = node.parent) {
+                path.add(node.name);
+            }
+            Collections.reverse(path);
+            return path;
         }
 
         @Override
@@ -57,14 +66,14 @@ public class GridPathSolver {
 
     public static void findShortestPath(String name, int maxJump, boolean reportFallProbability) {
         Map<String, Integer> dist = new HashMap<>();
-        Map<String, List<String>> paths = new HashMap<>();
+        Map<String, Node> bestNodes = new HashMap<>();
         PriorityQueue<Node> pq = new PriorityQueue<>();
 
         for (String label : labels) {
             dist.put(label, UNREACHABLE_COST);
         }
         dist.put(START, 0);
-        pq.add(new Node(START, 0, new ArrayList<>()));
+        pq.add(new Node(START, 0, null));
 
         while (!pq.isEmpty()) {
             Node cur = pq.poll();
@@ -80,8 +89,9 @@ public class GridPathSolver {
                     int newCost = cur.cost + d;
                     if (newCost < dist.get(labels[i])) {
                         dist.put(labels[i], newCost);
-                        pq.add(new Node(labels[i], newCost, cur.path));
-                        paths.put(labels[i], new ArrayList<>(cur.path));
+                        Node next = new Node(labels[i], newCost, cur);
+                        pq.add(next);
+                        bestNodes.put(labels[i], next);
                     }
                 }
             }
@@ -95,8 +105,7 @@ public class GridPathSolver {
         }
 
         System.out.println("Shortest Cost to Fridge: " + shortestCost);
-        List<String> fullPath = new ArrayList<>(paths.getOrDefault(DESTINATION, new ArrayList<>()));
-        fullPath.add(DESTINATION);
+        List<String> fullPath = bestNodes.get(DESTINATION).path();
         System.out.println("Path: " + String.join(" -> ", fullPath));
 
         if (reportFallProbability) {
@@ -0,0 +1,30 @@
+package com.optimumtransfer.goals;
+
+import com.optimumtransfer.model.State;
+
+import java.util.List;
+
+/**
+ * Conjunction of goals, evaluated in order and stopping at the first failure.
+ */
+public final class AllOfGoal implements GoalCondition {
+    private final GoalCondition[] conditions;
+
+    public AllOfGoal(List<GoalCondition> conditions) {
+        this.conditions = conditions.toArray(new GoalCondition[0]);
+    }
+
+    @Override
+    public boolean isSatisfied(State state) {
+        for (GoalCondition condition : conditions) {
+            if (!condition.isSatisfied(state)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<GoalCondition> getConditions() {
+        return List.of(conditions);
+    }
+}
@@ -0,0 +1,30 @@
+package com.optimumtransfer.goals;
+
+import com.optimumtransfer.model.State;
+
+import java.util.List;
+
+/**
+ * Disjunction of goals, evaluated in order and stopping at the first success.
+ */
+public final class AnyOfGoal implements GoalCondition {
+    private final GoalCondition[] conditions;
+
+    public AnyOfGoal(List<GoalCondition> conditions) {
+        this.conditions = conditions.toArray(new GoalCondition[0]);
+    }
+
+    @Override
+    public boolean isSatisfied(State state) {
+        for (GoalCondition condition : conditions) {
+            if (condition.isSatisfied(state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<GoalCondition> getConditions() {
+        return List.of(conditions);
+    }
+}
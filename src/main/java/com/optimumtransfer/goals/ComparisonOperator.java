@@ -0,0 +1,48 @@
+package com.optimumtransfer.goals;
+
+public enum ComparisonOperator {
+    EQUAL("=="),
+    NOT_EQUAL("!="),
+    GREATER_OR_EQUAL(">="),
+    LESS_OR_EQUAL("<="),
+    GREATER(">"),
+    LESS("<");
+
+    private final String symbol;
+
+    ComparisonOperator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public boolean test(long left, long right) {
+        switch (this) {
+            case EQUAL:
+                return left == right;
+            case NOT_EQUAL:
+                return left != right;
+            case GREATER_OR_EQUAL:
+                return left >= right;
+            case LESS_OR_EQUAL:
+                return left <= right;
+            case GREATER:
+                return left > right;
+            case LESS:
+                return left < right;
+            default:
+                throw new IllegalStateException("Unexpected operator: " + this);
+        }
+    }
+
+    public static ComparisonOperator fromSymbol(String symbol) {
+        for (ComparisonOperator operator : values()) {
+            if (operator.symbol.equals(symbol)) {
+                return operator;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported operator: " + symbol);
+    }
+}
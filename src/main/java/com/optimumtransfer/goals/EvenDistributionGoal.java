@@ -16,10 +16,9 @@ public class EvenDistributionGoal implements GoalCondition {
 
     @Override
     public boolean isSatisfied(State state){
-        int[] volume = state.getVolumes();
-        int firstVol = volume[0];
-        for(int vol : volume){
-            if(vol != firstVol){
+        int firstVol = state.volumeAt(0);
+        for(int i = 1; i < state.size(); i++){
+            if(state.volumeAt(i) != firstVol){
                 return false;
             }
         }
@@ -1,8 +1,7 @@
 package com.optimumtransfer.goals;
 
 import com.optimumtransfer.model.State;
-
-import java.util.Arrays;
+import com.optimumtransfer.model.StateHashing;
 
 /**
  * goals.ExactMatchGoal
@@ -16,6 +15,7 @@ import java.util.Arrays;
 
 public class ExactMatchGoal implements GoalCondition {
     private final int[] targetVolumes;
+    private final long targetHash;
 
     /**
      * Constructs an goals.ExactMatchGoal with the given target volumes.
@@ -24,11 +24,20 @@ public class ExactMatchGoal implements GoalCondition {
      */
     public ExactMatchGoal(int[] targetVol) {
         targetVolumes = targetVol.clone();
+        targetHash = StateHashing.hashOf(targetVolumes);
+    }
+
+    public int[] getTargetVolumes() {
+        return targetVolumes.clone();
     }
 
+    /**
+     * Checks the cached state hash first, so almost every non-matching state is
+     * rejected with a single comparison.
+     */
     @Override
     public boolean isSatisfied(State state){
-        return Arrays.equals(state.getVolumes(), targetVolumes);
+        return state.hash64() == targetHash && state.matchesGoal(targetVolumes);
     }
 }
 
@@ -0,0 +1,75 @@
+package com.optimumtransfer.goals;
+
+import com.optimumtransfer.model.State;
+
+import java.util.Objects;
+
+/**
+ * A compiled goal of the form {@code c[0]*v[0] + ... + c[n-1]*v[n-1] OP constant}.
+ *
+ * Only containers with a non-zero coefficient are stored, so evaluating the goal
+ * reads exactly those volumes and allocates nothing.
+ */
+public final class LinearComparisonGoal implements GoalCondition {
+    private final int[] indices;
+    private final long[] coefficients;
+    private final ComparisonOperator operator;
+    private final long constant;
+
+    /**
+     * @param coefficients One coefficient per container; zero entries are ignored.
+     * @param operator The comparison applied between the weighted sum and the constant.
+     * @param constant The right-hand side once every container term is moved to the left.
+     */
+    public LinearComparisonGoal(long[] coefficients, ComparisonOperator operator, long constant) {
+        Objects.requireNonNull(coefficients, "coefficients cannot be null");
+        int nonZero = 0;
+        for (long coefficient : coefficients) {
+            if (coefficient != 0) {
+                nonZero++;
+            }
+        }
+
+        this.indices = new int[nonZero];
+        this.coefficients = new long[nonZero];
+        int next = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] != 0) {
+                this.indices[next] = i;
+                this.coefficients[next] = coefficients[i];
+                next++;
+            }
+        }
+        this.operator = Objects.requireNonNull(operator, "operator cannot be null");
+        this.constant = constant;
+    }
+
+    @Override
+    public boolean isSatisfied(State state) {
+        long total = 0;
+        for (int i = 0; i < indices.length; i++) {
+            total += coefficients[i] * state.volumeAt(indices[i]);
+        }
+        return operator.test(total, constant);
+    }
+
+    /**
+     * Returns the coefficient applied to a container, or zero if it does not appear.
+     */
+    public long coefficientOf(int containerIndex) {
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] == containerIndex) {
+                return coefficients[i];
+            }
+        }
+        return 0;
+    }
+
+    public ComparisonOperator getOperator() {
+        return operator;
+    }
+
+    public long getConstant() {
+        return constant;
+    }
+}
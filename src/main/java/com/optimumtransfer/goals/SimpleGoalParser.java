@@ -1,74 +1,73 @@
 package com.optimumtransfer.goals;
 
-import com.optimumtransfer.model.State;
-
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles lightweight goal expressions such as {@code v[0] - v[1] == 2 && sum >= 6}.
+ *
+ * Each comparison is parsed once into a {@link LinearComparisonGoal}; {@code &&} binds
+ * tighter than {@code ||}, and both compile into short-circuiting goal lists, so no
+ * string work happens while the search is running.
+ */
 public class SimpleGoalParser {
+    private static final Pattern OPERATOR = Pattern.compile("==|!=|>=|<=|>|<");
+
     public static GoalCondition parse(String expr, int numContainers){
         expr = expr.replaceAll("\\s+", "");
 
-        if(expr.contains("&&")){
-            String[] parts = expr.split("&&");
-            List<GoalCondition> conditions = new ArrayList<GoalCondition>();
-            for (String part : parts) {
-                conditions.add(parseSingle(part, numContainers));
-            }
-            return state -> conditions.stream().allMatch(condition -> condition.isSatisfied(state));
+        String[] alternatives = expr.split("\\|\\|", -1);
+        List<GoalCondition> disjuncts = new ArrayList<GoalCondition>();
+        for (String alternative : alternatives) {
+            disjuncts.add(parseConjunction(alternative, numContainers));
         }
-
-        return parseSingle(expr, numContainers);
+        return disjuncts.size() == 1 ? disjuncts.get(0) : new AnyOfGoal(disjuncts);
     }
 
-    private static GoalCondition parseSingle(String expr, int numContainers){
-        String[] operators = {"==", ">=", "<="};
-        String selectedOp = null;
-
-        for(String op : operators){
-            if(expr.contains(op)){
-                selectedOp = op;
-                break;
-            }
+    private static GoalCondition parseConjunction(String expr, int numContainers){
+        String[] parts = expr.split("&&", -1);
+        List<GoalCondition> conditions = new ArrayList<GoalCondition>();
+        for (String part : parts) {
+            conditions.add(parseSingle(part, numContainers));
         }
+        return conditions.size() == 1 ? conditions.get(0) : new AllOfGoal(conditions);
+    }
 
-        if(selectedOp == null){
-            throw new IllegalArgumentException("Unsupported operation. Use ==, >=, or <=.");
+    private static LinearComparisonGoal parseSingle(String expr, int numContainers){
+        Matcher matcher = OPERATOR.matcher(expr);
+        if(!matcher.find()){
+            throw new IllegalArgumentException("Unsupported operation. Use ==, !=, >=, <=, > or <.");
         }
 
-        String[] sides = expr.split(selectedOp);
-        if(sides.length != 2){
+        ComparisonOperator operator = ComparisonOperator.fromSymbol(matcher.group());
+        String left = expr.substring(0, matcher.start());
+        String right = expr.substring(matcher.end());
+        if(right.isEmpty() || OPERATOR.matcher(right).find()){
             throw new IllegalArgumentException("Invalid expression format.");
         }
 
-        final String op = selectedOp;
-        final String left = sides[0];
-        final String right = sides[1];
-
-        return state -> {
-            int leftValue = evaluateSide(left, state, numContainers);
-            int rightValue = evaluateSide(right, state, numContainers);
-
-            if ("==".equals(op)) {
-                return leftValue == rightValue;
-            }
-            if (">=".equals(op)) {
-                return leftValue >= rightValue;
-            }
-            if ("<=".equals(op)) {
-                return leftValue <= rightValue;
-            }
-            throw new IllegalArgumentException("Unexpected operator: " + op);
-        };
+        // Move every container term to the left and every constant to the right.
+        long[] coefficients = new long[numContainers];
+        long constant = -accumulateSide(left, 1, coefficients, numContainers)
+                - accumulateSide(right, -1, coefficients, numContainers);
+        return new LinearComparisonGoal(coefficients, operator, constant);
     }
 
-    private static int evaluateSide(String side, State state, int numContainers){
+    /**
+     * Adds the container terms of one side to the coefficient vector, scaled by
+     * {@code direction}, and returns the side's constant term scaled the same way.
+     */
+    private static long accumulateSide(String side, int direction, long[] coefficients, int numContainers){
         if(side.equals("sum")){
-            return Arrays.stream(state.getVolumes()).sum();
+            for(int i = 0; i < numContainers; i++){
+                coefficients[i] += direction;
+            }
+            return 0;
         }
 
-        int result = 0;
+        long constant = 0;
         String[] tokens = side.split("(?=[+-])");
 
         for(String token : tokens){
@@ -77,12 +76,12 @@ public class SimpleGoalParser {
                 continue;
             }
 
-            int sign = 1;
+            int sign = direction;
             if(token.startsWith("+")){
                 token = token.substring(1);
             } else if(token.startsWith("-")){
                 token = token.substring(1);
-                sign = -1;
+                sign = -direction;
             }
 
             if(token.startsWith("v[")){
@@ -91,11 +90,11 @@ public class SimpleGoalParser {
                     throw new IllegalArgumentException("Invalid container index: " + idx);
                 }
 
-                result += sign * state.getVolumes()[idx];
+                coefficients[idx] += sign;
             } else {
-                result += sign * Integer.parseInt(token);
+                constant += (long) sign * Integer.parseInt(token);
             }
         }
-        return result;
+        return constant;
     }
 }
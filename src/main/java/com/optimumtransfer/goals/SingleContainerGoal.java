@@ -37,7 +37,7 @@ public class SingleContainerGoal implements GoalCondition {
 
     @Override
     public boolean isSatisfied(State state) {
-        return state.getVolumes()[containerIndex] == desiredVolume;
+        return state.volumeAt(containerIndex) == desiredVolume;
     }
 }
 
@@ -16,15 +16,11 @@ import com.optimumtransfer.model.State;
 public class EvenDistributionHeuristic  implements Heuristic {
     @Override
     public int estimate(State state){
-        int[] volumes = state.getVolumes();
-        int total = 0;
-        for(int v : volumes){
-            total += v;
-        }
-        int average = total / volumes.length;
+        int size = state.size();
+        int average = state.sum() / size;
         int sumDev = 0;
-        for(int v : volumes){
-            sumDev += Math.abs(v - average);
+        for(int i = 0; i < size; i++){
+            sumDev += Math.abs(state.volumeAt(i) - average);
         }
         return sumDev/2;
     }
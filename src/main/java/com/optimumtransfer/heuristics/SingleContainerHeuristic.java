@@ -22,9 +22,13 @@ public class SingleContainerHeuristic implements Heuristic {
         targetVolume = targetVol;
     }
 
+    public int getTargetIndex() {
+        return targetIndex;
+    }
+
     @Override
     public int estimate(State state){
-        return Math.abs(state.getVolumes()[targetIndex] - targetVolume);
+        return Math.abs(state.volumeAt(targetIndex) - targetVolume);
     }
 }
 
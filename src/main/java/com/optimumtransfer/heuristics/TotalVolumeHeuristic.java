@@ -22,11 +22,7 @@ public class TotalVolumeHeuristic implements Heuristic {
 
     @Override
     public int estimate(State state){
-        int sum = 0;
-        for(int V : state.getVolumes()){
-            sum += V;
-        }
-        return Math.abs(sum - goalTotal);
+        return Math.abs(state.sum() - goalTotal);
     }
 }
 
@@ -0,0 +1,53 @@
+package com.optimumtransfer.model;
+
+import java.util.Arrays;
+
+/**
+ * One unsigned byte per container, for capacities up to 255.
+ */
+final class ByteArrayState extends State {
+    private final byte[] volumes;
+
+    ByteArrayState(byte[] volumes, long hash) {
+        super(hash);
+        this.volumes = volumes;
+    }
+
+    @Override
+    public int volumeAt(int index) {
+        return volumes[index] & 0xFF;
+    }
+
+    @Override
+    public int size() {
+        return volumes.length;
+    }
+
+    @Override
+    public State afterTransfer(int from, int to, int amount) {
+        byte[] next = volumes.clone();
+        int fromVolume = volumes[from] & 0xFF;
+        int toVolume = volumes[to] & 0xFF;
+        next[from] = (byte) (fromVolume - amount);
+        next[to] = (byte) (toVolume + amount);
+        return new ByteArrayState(next, StateHashing.afterTransfer(hash64(), from, fromVolume, to, toVolume, amount));
+    }
+
+    @Override
+    public StateEncoding getEncoding() {
+        return StateEncoding.BYTE_ARRAY;
+    }
+
+    @Override
+    boolean isEncodedBy(StateCodec codec) {
+        return codec.getEncoding() == StateEncoding.BYTE_ARRAY && codec.size() == volumes.length;
+    }
+
+    @Override
+    boolean sameVolumes(State other) {
+        if (other instanceof ByteArrayState) {
+            return Arrays.equals(volumes, ((ByteArrayState) other).volumes);
+        }
+        return sameVolumesSlow(other);
+    }
+}
@@ -0,0 +1,53 @@
+package com.optimumtransfer.model;
+
+/**
+ * All volumes bit-packed into a single long using the codec's layout.
+ */
+final class PackedLongState extends State {
+    private final StateCodec codec;
+    private final long word;
+
+    PackedLongState(StateCodec codec, long word, long hash) {
+        super(hash);
+        this.codec = codec;
+        this.word = word;
+    }
+
+    @Override
+    public int volumeAt(int index) {
+        return (int) ((word >>> codec.shifts[index]) & codec.masks[index]);
+    }
+
+    @Override
+    public int size() {
+        return codec.size();
+    }
+
+    @Override
+    public State afterTransfer(int from, int to, int amount) {
+        long delta = amount;
+        return new PackedLongState(codec, word - (delta << codec.shifts[from]) + (delta << codec.shifts[to]),
+                codec.hashAfterTransfer(hash64(), from, volumeAt(from), to, volumeAt(to), amount));
+    }
+
+    @Override
+    public StateEncoding getEncoding() {
+        return StateEncoding.PACKED_LONG;
+    }
+
+    @Override
+    boolean isEncodedBy(StateCodec other) {
+        return codec.sameLayout(other);
+    }
+
+    @Override
+    boolean sameVolumes(State other) {
+        if (other instanceof PackedLongState) {
+            PackedLongState state = (PackedLongState) other;
+            if (codec == state.codec) {
+                return word == state.word;
+            }
+        }
+        return sameVolumesSlow(other);
+    }
+}
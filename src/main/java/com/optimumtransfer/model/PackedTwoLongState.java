@@ -0,0 +1,68 @@
+package com.optimumtransfer.model;
+
+/**
+ * All volumes bit-packed into two longs using the codec's layout.
+ */
+final class PackedTwoLongState extends State {
+    private final StateCodec codec;
+    private final long low;
+    private final long high;
+
+    PackedTwoLongState(StateCodec codec, long low, long high, long hash) {
+        super(hash);
+        this.codec = codec;
+        this.low = low;
+        this.high = high;
+    }
+
+    @Override
+    public int volumeAt(int index) {
+        long word = codec.words[index] == 0 ? low : high;
+        return (int) ((word >>> codec.shifts[index]) & codec.masks[index]);
+    }
+
+    @Override
+    public int size() {
+        return codec.size();
+    }
+
+    @Override
+    public State afterTransfer(int from, int to, int amount) {
+        long delta = amount;
+        long nextLow = low;
+        long nextHigh = high;
+        if (codec.words[from] == 0) {
+            nextLow -= delta << codec.shifts[from];
+        } else {
+            nextHigh -= delta << codec.shifts[from];
+        }
+        if (codec.words[to] == 0) {
+            nextLow += delta << codec.shifts[to];
+        } else {
+            nextHigh += delta << codec.shifts[to];
+        }
+        return new PackedTwoLongState(codec, nextLow, nextHigh,
+                codec.hashAfterTransfer(hash64(), from, volumeAt(from), to, volumeAt(to), amount));
+    }
+
+    @Override
+    public StateEncoding getEncoding() {
+        return StateEncoding.PACKED_TWO_LONGS;
+    }
+
+    @Override
+    boolean isEncodedBy(StateCodec other) {
+        return codec.sameLayout(other);
+    }
+
+    @Override
+    boolean sameVolumes(State other) {
+        if (other instanceof PackedTwoLongState) {
+            PackedTwoLongState state = (PackedTwoLongState) other;
+            if (codec == state.codec) {
+                return low == state.low && high == state.high;
+            }
+        }
+        return sameVolumesSlow(other);
+    }
+}
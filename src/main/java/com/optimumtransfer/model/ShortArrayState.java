@@ -0,0 +1,53 @@
+package com.optimumtransfer.model;
+
+import java.util.Arrays;
+
+/**
+ * One unsigned short per container, for capacities up to 65535.
+ */
+final class ShortArrayState extends State {
+    private final short[] volumes;
+
+    ShortArrayState(short[] volumes, long hash) {
+        super(hash);
+        this.volumes = volumes;
+    }
+
+    @Override
+    public int volumeAt(int index) {
+        return volumes[index] & 0xFFFF;
+    }
+
+    @Override
+    public int size() {
+        return volumes.length;
+    }
+
+    @Override
+    public State afterTransfer(int from, int to, int amount) {
+        short[] next = volumes.clone();
+        int fromVolume = volumes[from] & 0xFFFF;
+        int toVolume = volumes[to] & 0xFFFF;
+        next[from] = (short) (fromVolume - amount);
+        next[to] = (short) (toVolume + amount);
+        return new ShortArrayState(next, StateHashing.afterTransfer(hash64(), from, fromVolume, to, toVolume, amount));
+    }
+
+    @Override
+    public StateEncoding getEncoding() {
+        return StateEncoding.SHORT_ARRAY;
+    }
+
+    @Override
+    boolean isEncodedBy(StateCodec codec) {
+        return codec.getEncoding() == StateEncoding.SHORT_ARRAY && codec.size() == volumes.length;
+    }
+
+    @Override
+    boolean sameVolumes(State other) {
+        if (other instanceof ShortArrayState) {
+            return Arrays.equals(volumes, ((ShortArrayState) other).volumes);
+        }
+        return sameVolumesSlow(other);
+    }
+}
@@ -1,6 +1,8 @@
 package com.optimumtransfer.model;
 
+import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * model.State
@@ -11,65 +13,212 @@ import java.util.Arrays;
  * Description:
  * Represents a snapshot of the system's container volumes at a specific point in time.
  * Supports equality, hashing, and comparison for use in graph search algorithms.
+ *
+ * States are immutable. The public constructor stores one int per container; a
+ * {@link StateCodec} can instead return package-private subclasses that pack volumes
+ * into one or two longs, or into byte or short arrays, when the container capacities
+ * allow it. Every state carries a 64-bit
+ * Zobrist hash computed once and updated incrementally by {@link #afterTransfer}.
+ * Equality first compares hashes, then the encoded words when both states share an
+ * encoding, and only falls back to comparing volumes one by one across encodings.
  */
 
 public class State {
     private final int[] volumes;
+    private final long hash;
 
     /**
-     * Constructs a model.State from an array of container volumes.
+     * Constructs a model.State from an array of container volumes, one int per container.
      *
      * @param vol The array representing the current volume in each container.
       */
     public State(int[] vol){
         //Copy to protect internal state
         volumes = vol.clone();
+        hash = StateHashing.hashOf(volumes);
     }
 
     /**
-     * Returns a copy of the volumes array.
+     * Wraps volumes the caller will not modify again, with their precomputed hash.
+     */
+    State(int[] volumes, long hash){
+        this.volumes = volumes;
+        this.hash = hash;
+    }
+
+    /**
+     * Constructor for packed encodings, which keep their volumes in their own fields
+     * and override every accessor that reads {@code volumes}.
+     */
+    State(long hash){
+        this(null, hash);
+    }
+
+    /**
+     * Returns the volume of a single container without copying the state.
      *
-     * @return A copy of the container volumes.
+     * @param index The container index.
+     * @return The current volume of that container.
      */
-    public int[] getVolumes(){
-        return volumes.clone();
+    public int volumeAt(int index){
+        return volumes[index];
     }
 
     /**
-     * Checks if this state matches the target goal configuration.
+     * Returns the number of containers in this state.
+     */
+    public int size(){
+        return volumes.length;
+    }
+
+    /**
+     * Returns the state reached by moving an amount from one container to another.
+     * The result uses the same encoding as this state.
      *
-     * @param target The target volumes to match.
-     * @return true if the current volumes match the target exactly, false otherwise.
+     * @param from Index of the source container.
+     * @param to Index of the destination container.
+     * @param amount Amount of volume moved.
+     * @return A new state with the transfer applied.
      */
-    public boolean matchesGoal(int[] target){
-        return Arrays.equals(volumes, target);
+    public State afterTransfer(int from, int to, int amount){
+        int[] next = volumes.clone();
+        next[from] -= amount;
+        next[to] += amount;
+        return new State(next, StateHashing.afterTransfer(hash, from, volumes[from], to, volumes[to], amount));
     }
 
     /**
-     * Returns a string representation of the state.
+     * Returns the encoding used to store this state's volumes.
      */
-    @Override
-    public String toString(){
-        return Arrays.toString(volumes);
+    public StateEncoding getEncoding(){
+        return StateEncoding.INT_ARRAY;
+    }
+
+    /**
+     * Returns true if this state is stored in the layout produced by the given codec.
+     */
+    boolean isEncodedBy(StateCodec codec){
+        return codec.getEncoding() == StateEncoding.INT_ARRAY && codec.size() == volumes.length;
+    }
+
+    /**
+     * Compares volumes with a state whose hash already matches. Encodings compare
+     * their encoded form directly when the other state uses the same layout.
+     */
+    boolean sameVolumes(State other){
+        if(volumes != null && other.volumes != null){
+            return Arrays.equals(volumes, other.volumes);
+        }
+        return sameVolumesSlow(other);
+    }
+
+    /**
+     * Returns the 64-bit Zobrist hash of this state's volumes.
+     */
+    public long hash64(){
+        return hash;
     }
 
     /**
      * Checks for equality between two states based on container volumes.
      */
     @Override
-    public boolean equals(Object o){
+    public final boolean equals(Object o){
         if(this == o) return true;
         if(!(o instanceof State)) return false;
         State state = (State)o;
-        return Arrays.equals(volumes, state.volumes);
+        return hash == state.hash && sameVolumes(state);
     }
 
     /**
-     * Generates a hash code based on the container volumes.
+     * Returns the cached hash folded to 32 bits.
      */
     @Override
-    public int hashCode(){
-        return Arrays.hashCode(volumes);
+    public final int hashCode(){
+        return (int)(hash ^ (hash >>> 32));
     }
-}
 
+    final boolean sameVolumesSlow(State other){
+        if(other.size() != size()){
+            return false;
+        }
+        for(int i = 0; i < size(); i++){
+            if(volumeAt(i) != other.volumeAt(i)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a copy of the volumes array.
+     * Hot paths should prefer {@link #volumeAt(int)}, {@link #size()} and {@link #sum()},
+     * which read the state without allocating.
+     *
+     * @return A copy of the container volumes.
+     */
+    public int[] getVolumes(){
+        if(volumes != null){
+            return volumes.clone();
+        }
+        int[] copy = new int[size()];
+        for(int i = 0; i < copy.length; i++){
+            copy[i] = volumeAt(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the total volume held across all containers.
+     */
+    public int sum(){
+        int total = 0;
+        for(int i = 0; i < size(); i++){
+            total += volumeAt(i);
+        }
+        return total;
+    }
+
+    /**
+     * Returns a read-only list view of the container volumes backed by this state.
+     */
+    public List<Integer> asList(){
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                return volumeAt(index);
+            }
+
+            @Override
+            public int size() {
+                return State.this.size();
+            }
+        };
+    }
+
+    /**
+     * Checks if this state matches the target goal configuration.
+     *
+     * @param target The target volumes to match.
+     * @return true if the current volumes match the target exactly, false otherwise.
+     */
+    public boolean matchesGoal(int[] target){
+        if(target.length != size()){
+            return false;
+        }
+        for(int i = 0; i < target.length; i++){
+            if(volumeAt(i) != target[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a string representation of the state.
+     */
+    @Override
+    public String toString(){
+        return asList().toString();
+    }
+}
@@ -0,0 +1,213 @@
+package com.optimumtransfer.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Chooses the most compact {@link State} encoding for a set of per-container
+ * volume bounds and converts volume arrays into states of that encoding.
+ *
+ * Each container gets just enough bits for its bound. When the total fits in
+ * 64 bits every state is a single long; up to 128 bits it is two longs; beyond
+ * that volumes are stored as unsigned bytes, unsigned shorts or ints depending on
+ * the largest bound. Transfers between packed states are a couple of shifts and
+ * adds on the words, and equality compares the words directly.
+ *
+ * When the bounds are small the codec also caches the Zobrist keys of
+ * {@link StateHashing} in a flat table indexed by container and volume.
+ */
+public final class StateCodec {
+    private static final int WORD_BITS = Long.SIZE;
+    private static final int MAX_UNSIGNED_BYTE = 0xFF;
+    private static final int MAX_UNSIGNED_SHORT = 0xFFFF;
+    private static final int MAX_ZOBRIST_TABLE_ENTRIES = 1 << 16;
+
+    private final StateEncoding encoding;
+    private final int[] bounds;
+    final int[] shifts;
+    final long[] masks;
+    final int[] words;
+    private final int[] keyOffsets;
+    private final long[] keys;
+
+    private StateCodec(StateEncoding encoding, int[] bounds, int[] shifts, long[] masks, int[] words) {
+        this.encoding = encoding;
+        this.bounds = bounds;
+        this.shifts = shifts;
+        this.masks = masks;
+        this.words = words;
+
+        long entries = 0;
+        for (int bound : bounds) {
+            entries += bound + 1L;
+        }
+        if (encoding == StateEncoding.INT_ARRAY || entries > MAX_ZOBRIST_TABLE_ENTRIES) {
+            this.keyOffsets = null;
+            this.keys = null;
+        } else {
+            this.keyOffsets = new int[bounds.length];
+            this.keys = new long[(int) entries];
+            int offset = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                keyOffsets[i] = offset;
+                for (int volume = 0; volume <= bounds[i]; volume++) {
+                    keys[offset + volume] = StateHashing.key(i, volume);
+                }
+                offset += bounds[i] + 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the most compact codec able to hold volumes between zero and the given
+     * bound in each container.
+     *
+     * @param maxVolumes The largest volume each container can ever hold.
+     * @throws IllegalArgumentException if any bound is negative.
+     */
+    public static StateCodec forBounds(int[] maxVolumes) {
+        int[] bounds = Objects.requireNonNull(maxVolumes, "maxVolumes cannot be null").clone();
+        int size = bounds.length;
+        int[] widths = new int[size];
+        int maxBound = 0;
+        for (int i = 0; i < size; i++) {
+            if (bounds[i] < 0) {
+                throw new IllegalArgumentException("Volume bounds cannot be negative.");
+            }
+            widths[i] = WORD_BITS - Long.numberOfLeadingZeros(bounds[i]);
+            maxBound = Math.max(maxBound, bounds[i]);
+        }
+
+        int[] shifts = new int[size];
+        long[] masks = new long[size];
+        int[] words = new int[size];
+        int word = 0;
+        int used = 0;
+        for (int i = 0; i < size && word < 2; i++) {
+            if (used + widths[i] > WORD_BITS) {
+                word++;
+                used = 0;
+            }
+            shifts[i] = used;
+            masks[i] = widths[i] == 0 ? 0L : -1L >>> (WORD_BITS - widths[i]);
+            words[i] = word;
+            used += widths[i];
+        }
+
+        if (word == 0) {
+            return new StateCodec(StateEncoding.PACKED_LONG, bounds, shifts, masks, words);
+        }
+        if (word == 1) {
+            return new StateCodec(StateEncoding.PACKED_TWO_LONGS, bounds, shifts, masks, words);
+        }
+        if (maxBound <= MAX_UNSIGNED_BYTE) {
+            return new StateCodec(StateEncoding.BYTE_ARRAY, bounds, null, null, null);
+        }
+        if (maxBound <= MAX_UNSIGNED_SHORT) {
+            return new StateCodec(StateEncoding.SHORT_ARRAY, bounds, null, null, null);
+        }
+        return unpacked(size);
+    }
+
+    /**
+     * Returns a codec that stores one int per container without any range checks,
+     * matching {@link State#State(int[])}.
+     */
+    public static StateCodec unpacked(int size) {
+        int[] bounds = new int[size];
+        Arrays.fill(bounds, Integer.MAX_VALUE);
+        return new StateCodec(StateEncoding.INT_ARRAY, bounds, null, null, null);
+    }
+
+    public StateEncoding getEncoding() {
+        return encoding;
+    }
+
+    public int size() {
+        return bounds.length;
+    }
+
+    /**
+     * Encodes a volume array.
+     *
+     * @throws IllegalArgumentException if the length or any volume is out of range for this codec.
+     */
+    public State encode(int[] volumes) {
+        if (volumes.length != bounds.length) {
+            throw new IllegalArgumentException("Expected " + bounds.length + " volumes but got " + volumes.length + ".");
+        }
+        if (encoding == StateEncoding.INT_ARRAY) {
+            return new State(volumes);
+        }
+        long hash = 0L;
+        for (int i = 0; i < volumes.length; i++) {
+            if (volumes[i] < 0 || volumes[i] > bounds[i]) {
+                throw new IllegalArgumentException("Volume " + volumes[i] + " of container " + i
+                        + " is outside the encodable range 0.." + bounds[i] + ".");
+            }
+            hash ^= key(i, volumes[i]);
+        }
+
+        switch (encoding) {
+            case PACKED_LONG:
+                return new PackedLongState(this, pack(volumes, 0), hash);
+            case PACKED_TWO_LONGS:
+                return new PackedTwoLongState(this, pack(volumes, 0), pack(volumes, 1), hash);
+            case BYTE_ARRAY:
+                byte[] bytes = new byte[volumes.length];
+                for (int i = 0; i < volumes.length; i++) {
+                    bytes[i] = (byte) volumes[i];
+                }
+                return new ByteArrayState(bytes, hash);
+            case SHORT_ARRAY:
+                short[] shorts = new short[volumes.length];
+                for (int i = 0; i < volumes.length; i++) {
+                    shorts[i] = (short) volumes[i];
+                }
+                return new ShortArrayState(shorts, hash);
+            default:
+                throw new IllegalStateException("Unexpected encoding: " + encoding);
+        }
+    }
+
+    /**
+     * Returns the state unchanged if it already uses this codec, otherwise re-encodes it.
+     */
+    public State encode(State state) {
+        if (state.isEncodedBy(this)) {
+            return state;
+        }
+        return encode(state.getVolumes());
+    }
+
+    long hashAfterTransfer(long hash, int from, int fromVolume, int to, int toVolume, int amount) {
+        if (keys == null) {
+            return StateHashing.afterTransfer(hash, from, fromVolume, to, toVolume, amount);
+        }
+        int fromOffset = keyOffsets[from];
+        int toOffset = keyOffsets[to];
+        return hash
+                ^ keys[fromOffset + fromVolume] ^ keys[fromOffset + fromVolume - amount]
+                ^ keys[toOffset + toVolume] ^ keys[toOffset + toVolume + amount];
+    }
+
+    private long key(int index, int volume) {
+        return keys == null ? StateHashing.key(index, volume) : keys[keyOffsets[index] + volume];
+    }
+
+    boolean sameLayout(StateCodec other) {
+        return this == other
+                || (encoding == other.encoding && Arrays.equals(shifts, other.shifts) && Arrays.equals(masks, other.masks)
+                && Arrays.equals(words, other.words));
+    }
+
+    private long pack(int[] volumes, int word) {
+        long packed = 0L;
+        for (int i = 0; i < volumes.length; i++) {
+            if (words[i] == word) {
+                packed |= (long) volumes[i] << shifts[i];
+            }
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,17 @@
+package com.optimumtransfer.model;
+
+/**
+ * Storage layouts a {@link StateCodec} can choose for a state.
+ */
+public enum StateEncoding {
+    /** All volumes bit-packed into a single long. */
+    PACKED_LONG,
+    /** All volumes bit-packed into two longs; no volume spans both words. */
+    PACKED_TWO_LONGS,
+    /** One unsigned byte per container. */
+    BYTE_ARRAY,
+    /** One unsigned short per container. */
+    SHORT_ARRAY,
+    /** One int per container. */
+    INT_ARRAY
+}
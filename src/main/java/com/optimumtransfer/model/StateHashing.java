@@ -0,0 +1,48 @@
+package com.optimumtransfer.model;
+
+/**
+ * Zobrist-style 64-bit hashing for container volumes.
+ *
+ * Every (container index, volume) pair maps to a fixed pseudo-random key, and a state's
+ * hash is the XOR of the keys of its volumes. A transfer touches two containers, so the
+ * successor's hash is the parent's hash with four keys XORed in and out. Keys come from
+ * a fixed function rather than a seeded random table, so the hash of a volume array is
+ * the same for every encoding and every run; {@link StateCodec} caches the keys in a
+ * lookup table when its bounds are small.
+ */
+public final class StateHashing {
+    private StateHashing() {
+    }
+
+    /**
+     * Returns the key for a container holding a given volume.
+     */
+    public static long key(int index, int volume) {
+        // SplitMix64 finaliser over the packed (index, volume) pair.
+        long z = (((long) index << 32) | (volume & 0xFFFFFFFFL)) + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the hash of a full volume array, equal to {@link State#hash64()} of any
+     * state holding those volumes.
+     */
+    public static long hashOf(int[] volumes) {
+        long hash = 0L;
+        for (int i = 0; i < volumes.length; i++) {
+            hash ^= key(i, volumes[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the hash after moving {@code amount} from one container to another.
+     */
+    static long afterTransfer(long hash, int from, int fromVolume, int to, int toVolume, int amount) {
+        return hash
+                ^ key(from, fromVolume) ^ key(from, fromVolume - amount)
+                ^ key(to, toVolume) ^ key(to, toVolume + amount);
+    }
+}
@@ -0,0 +1,114 @@
+package com.optimumtransfer.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * model.TransferTopology
+ *
+ * Description:
+ * The physical pipes between containers, as a directed adjacency list. Solvers only
+ * generate transfers along these edges, so per-state work grows with the number of
+ * pipes rather than with the square of the container count.
+ */
+public final class TransferTopology {
+    private final int[][] targets;
+    private final int edgeCount;
+    private final boolean complete;
+
+    private TransferTopology(int[][] targets, int edgeCount, boolean complete) {
+        this.targets = targets;
+        this.edgeCount = edgeCount;
+        this.complete = complete;
+    }
+
+    /**
+     * Returns a topology where every container can pour into every other container.
+     */
+    public static TransferTopology complete(int containerCount) {
+        if (containerCount < 0) {
+            throw new IllegalArgumentException("containerCount cannot be negative.");
+        }
+        int[][] targets = new int[containerCount][];
+        for (int from = 0; from < containerCount; from++) {
+            int[] open = new int[Math.max(0, containerCount - 1)];
+            int next = 0;
+            for (int to = 0; to < containerCount; to++) {
+                if (to != from) {
+                    open[next++] = to;
+                }
+            }
+            targets[from] = open;
+        }
+        return new TransferTopology(targets, containerCount * Math.max(0, containerCount - 1), true);
+    }
+
+    /**
+     * Returns a topology with exactly the given directed edges.
+     *
+     * @param containerCount Number of containers.
+     * @param edges Pairs of {from, to} container indexes; duplicates are ignored.
+     * @throws IllegalArgumentException if an edge is malformed, a self-loop, or out of range.
+     */
+    public static TransferTopology of(int containerCount, List<int[]> edges) {
+        if (containerCount < 0) {
+            throw new IllegalArgumentException("containerCount cannot be negative.");
+        }
+        List<List<Integer>> adjacency = new ArrayList<>();
+        for (int i = 0; i < containerCount; i++) {
+            adjacency.add(new ArrayList<>());
+        }
+
+        for (int[] edge : edges) {
+            if (edge.length != 2) {
+                throw new IllegalArgumentException("Each edge must have a source and a target.");
+            }
+            int from = edge[0];
+            int to = edge[1];
+            if (from < 0 || from >= containerCount || to < 0 || to >= containerCount) {
+                throw new IllegalArgumentException("Edge " + from + ">" + to + " is outside 0.." + (containerCount - 1) + ".");
+            }
+            if (from == to) {
+                throw new IllegalArgumentException("Edge " + from + ">" + to + " cannot connect a container to itself.");
+            }
+            if (!adjacency.get(from).contains(to)) {
+                adjacency.get(from).add(to);
+            }
+        }
+
+        int[][] targets = new int[containerCount][];
+        int edgeCount = 0;
+        for (int from = 0; from < containerCount; from++) {
+            targets[from] = adjacency.get(from).stream().mapToInt(Integer::intValue).sorted().toArray();
+            edgeCount += targets[from].length;
+        }
+        return new TransferTopology(targets, edgeCount, edgeCount == containerCount * Math.max(0, containerCount - 1));
+    }
+
+    public int getContainerCount() {
+        return targets.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns true if every ordered pair of distinct containers is connected.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public boolean hasEdge(int from, int to) {
+        return Arrays.binarySearch(targets[from], to) >= 0;
+    }
+
+    /**
+     * Returns the containers reachable from {@code from} in one transfer, in ascending order.
+     */
+    public int[] getTargets(int from) {
+        return targets[from].clone();
+    }
+}
@@ -1,28 +1,26 @@
 package com.optimumtransfer.search;
 
 import com.optimumtransfer.constraints.TransferConstraint;
+import com.optimumtransfer.goals.ExactMatchGoal;
 import com.optimumtransfer.goals.GoalCondition;
 import com.optimumtransfer.heuristics.Heuristic;
-import com.optimumtransfer.model.MoveResult;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
 import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.StateCodec;
 import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.model.TransferTopology;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.math.BigInteger;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
+import java.util.Objects;
 
 public class AStar {
-    private static final Heuristic ZERO_HEURISTIC = state -> 0;
-    private static final int UNREACHABLE_COST = Integer.MAX_VALUE;
+    private static final Heuristic ZERO_HEURISTIC = new ZeroHeuristic();
 
     private final int[] capacities;
-    private final List<TransferConstraint> constraints;
+    private final RouteTable routes;
     private final Heuristic heuristic;
+    private final SearchOptions options;
 
     public AStar(int[] capacity) {
         this(capacity, List.of(), ZERO_HEURISTIC);
@@ -33,127 +31,384 @@ public class AStar {
     }
 
     public AStar(int[] capacity, List<TransferConstraint> constList, Heuristic heur) {
+        this(capacity, constList, heur, SearchOptions.defaults());
+    }
+
+    public AStar(int[] capacity, List<TransferConstraint> constList, Heuristic heur, SearchOptions searchOptions) {
+        this(capacity, TransferTopology.complete(capacity.length), constList, heur, searchOptions);
+    }
+
+    public AStar(int[] capacity,
+                 TransferTopology topology,
+                 List<TransferConstraint> constList,
+                 Heuristic heur,
+                 SearchOptions searchOptions) {
+        if (topology.getContainerCount() != capacity.length) {
+            throw new IllegalArgumentException("Topology must cover exactly one node per container.");
+        }
         capacities = capacity.clone();
-        constraints = List.copyOf(constList);
+        routes = RouteTable.build(topology, List.copyOf(constList));
         heuristic = heur;
+        options = Objects.requireNonNull(searchOptions, "searchOptions cannot be null");
     }
 
+    /**
+     * Returns a cheapest transfer sequence from {@code start} to a goal state, or null.
+     * Null also means a limit in the search options stopped the search first; use
+     * {@link #searchShortest} to learn which.
+     */
     public List<Transfer> solve(State start, GoalCondition goal) {
-        PriorityQueue<Node> frontier = new PriorityQueue<>(Comparator.comparingInt(this::score));
-        Map<State, Integer> bestCosts = new HashMap<>();
+        return searchShortest(start, goal).getValue();
+    }
+
+    /**
+     * Searches for a cheapest transfer sequence from {@code start} to a goal state and
+     * reports how the search ended. With a parallelism above one in the search options
+     * the work is spread over hash-distributed workers; goals, heuristics and
+     * constraints must then be safe to call from several threads at once.
+     */
+    public SearchOutcome<List<Transfer>> searchShortest(State start, GoalCondition goal) {
+        StatisticsRecorder recorder = new StatisticsRecorder(options);
+        return settle(solve(start, goal, recorder), recorder);
+    }
+
+    private List<Transfer> solve(State start, GoalCondition goal, StatisticsRecorder recorder) {
+        int[] bounds = volumeBounds(start);
+        if (options.getParallelism() > 1) {
+            return new ParallelAStar(this, heuristic, options).solve(encoderFor(bounds).encode(start), goal, recorder);
+        }
+
+        ContainerSymmetry symmetry = detectSymmetry(bounds, goal);
+        if (symmetry.isTrivial()) {
+            StateCodec codec = encoderFor(bounds);
+            return runAStar(codec.encode(start), goal, bounds, codec, null, recorder);
+        }
+
+        // Interchangeable containers: search canonical states, then map the plan back.
+        bounds = symmetry.widenBounds(bounds);
+        StateCodec codec = encoderFor(bounds);
+        List<Transfer> canonicalPath = runAStar(symmetry.canonicalize(codec.encode(start), codec), goal, bounds, codec,
+                symmetry, recorder);
+        return canonicalPath == null ? null : symmetry.concretePath(start.getVolumes(), canonicalPath);
+    }
 
-        frontier.add(new Node(start, new ArrayList<>(), 0));
+    /**
+     * Runs sequential A*. With a symmetry, every successor is replaced by its canonical
+     * representative before it is looked up or stored.
+     */
+    private List<Transfer> runAStar(State start, GoalCondition goal, int[] bounds, StateCodec codec,
+                                    ContainerSymmetry symmetry, StatisticsRecorder recorder) {
+        OpenList frontier = OpenList.create(options.getOpenListType());
+        CostTable bestCosts = CostTable.create(bounds, start.sum(), options.getDenseTableBudgetBytes());
+
+        MoveBuffer moves = new MoveBuffer();
+
+        frontier.add(new Node(start, null, null, 0, heuristic.estimate(start)));
         bestCosts.put(start, 0);
+        Node closest = null;
 
-        while (!frontier.isEmpty()) {
+        while (!frontier.isEmpty() && !recorder.isStopped()) {
             Node current = frontier.poll();
             State currentState = current.getState();
 
-            if (current.getCost() > bestCosts.getOrDefault(currentState, UNREACHABLE_COST)) {
+            if (current.getCost() > bestCosts.get(currentState)) {
+                recorder.duplicate();
                 continue;
             }
 
             if (goal.isSatisfied(currentState)) {
+                recorder.closed(bestCosts.size());
                 return current.getPath();
             }
 
-            for (MoveResult neighbor : generateNextStates(currentState)) {
-                State nextState = neighbor.getNewState();
-                Transfer action = neighbor.getAction();
-                int newCost = current.getCost() + action.getWeight();
-                int bestKnownCost = bestCosts.getOrDefault(nextState, UNREACHABLE_COST);
-
-                if (newCost < bestKnownCost) {
-                    List<Transfer> newPath = new ArrayList<>(current.getPath());
-                    newPath.add(action);
+            if (closest == null || current.getEstimate() < closest.getEstimate()) {
+                closest = current;
+            }
+            recorder.expanded();
+            moves.clear();
+            forEachSuccessor(currentState, moves);
+            for (int i = 0; i < moves.size(); i++) {
+                int from = moves.from(i);
+                int to = moves.to(i);
+                int amount = moves.amount(i);
+                int newCost = current.getCost() + moves.weight(i);
+
+                if (symmetry != null) {
+                    State nextState = symmetry.canonicalize(currentState.afterTransfer(from, to, amount), codec);
+                    if (newCost < bestCosts.get(nextState)) {
+                        bestCosts.put(nextState, newCost);
+                        frontier.add(new Node(nextState, current, moves.toTransfer(i), newCost, heuristic.estimate(nextState)));
+                        recorder.generated();
+                    } else {
+                        recorder.duplicate();
+                    }
+                } else if (newCost < bestCosts.getAfterTransfer(currentState, from, to, amount)) {
+                    State nextState = currentState.afterTransfer(from, to, amount);
                     bestCosts.put(nextState, newCost);
-                    frontier.add(new Node(nextState, newPath, newCost));
+                    frontier.add(new Node(nextState, current, moves.toTransfer(i), newCost, heuristic.estimate(nextState)));
+                    recorder.generated();
+                } else {
+                    recorder.duplicate();
                 }
             }
+            recorder.frontier(frontier.size());
+            recorder.closed(bestCosts.size());
+        }
+
+        // A stopped search hands back the way to the expanded state that looked closest to the goal.
+        return recorder.isStopped() && closest != null ? closest.getPath() : null;
+    }
+
+    /**
+     * Returns a cheapest transfer sequence like {@link #solve}, but with iterative-deepening
+     * A*, whose memory grows with the path length instead of the number of states seen.
+     * It re-expands states on every iteration, so it trades time for memory.
+     */
+    public List<Transfer> solveIterativeDeepening(State start, GoalCondition goal) {
+        return searchIterativeDeepening(start, goal).getValue();
+    }
+
+    /**
+     * Runs {@link #solveIterativeDeepening} and reports how the search ended.
+     */
+    public SearchOutcome<List<Transfer>> searchIterativeDeepening(State start, GoalCondition goal) {
+        start = encoderFor(volumeBounds(start)).encode(start);
+        StatisticsRecorder recorder = new StatisticsRecorder(options);
+        return settle(new IterativeDeepeningAStar(this, heuristic, options.getTranspositionTableEntries())
+                .solve(start, goal, recorder), recorder);
+    }
+
+    /**
+     * Returns a cheapest transfer sequence from {@code start} to exactly {@code target},
+     * searching forward from the start and backward from the target at the same time.
+     * Both sides run uniform-cost search, so the heuristic is not used. When the target
+     * leaves some containers interchangeable, symmetry-reduced A* runs instead.
+     */
+    public List<Transfer> solveBidirectional(State start, int[] target) {
+        return searchBidirectional(start, target).getValue();
+    }
+
+    /**
+     * Runs {@link #solveBidirectional} and reports how the search ended.
+     */
+    public SearchOutcome<List<Transfer>> searchBidirectional(State start, int[] target) {
+        int[] bounds = volumeBounds(start);
+        if (bounds == null) {
+            return searchShortest(start, new ExactMatchGoal(target));
+        }
+        if (target.length != bounds.length) {
+            throw new IllegalArgumentException("Target must have one volume per container.");
+        }
+        for (int i = 0; i < target.length; i++) {
+            if (target[i] < 0 || target[i] > bounds[i]) {
+                return new SearchOutcome<>(null, SearchStatus.NO_SOLUTION, SearchStatistics.empty(), List.of());
+            }
+        }
+
+        ExactMatchGoal goal = new ExactMatchGoal(target);
+        if (!detectSymmetry(bounds, goal).isTrivial()) {
+            // Merging interchangeable containers shrinks the space by up to k! per class,
+            // which outweighs meeting in the middle.
+            return searchShortest(start, goal);
+        }
+
+        StateCodec codec = encoderFor(bounds);
+        StatisticsRecorder recorder = new StatisticsRecorder(options);
+        return settle(new BidirectionalSearch(this, bounds, options.getOpenListType())
+                .solve(codec.encode(start), codec.encode(target), recorder), recorder);
+    }
+
+    /**
+     * Runs anytime repairing A*: a first plan comes from a search whose heuristic is
+     * inflated by {@link SearchOptions#getAnytimeInitialWeight()}, and each further
+     * iteration lowers the weight and reuses the earlier work to find cheaper or better
+     * bounded plans until one is proven optimal. Every published plan also goes to the
+     * options' anytime listener as it is found.
+     *
+     * Returns the published plans in order, the last one being the best.
+     */
+    public List<AnytimeSolution> solveAnytime(State start, GoalCondition goal) {
+        return searchAnytime(start, goal).getValue();
+    }
+
+    /**
+     * Runs {@link #solveAnytime} and reports how the search ended. When a limit stops it
+     * first, the status says which and the partial path holds the best plan found.
+     */
+    public SearchOutcome<List<AnytimeSolution>> searchAnytime(State start, GoalCondition goal) {
+        int[] bounds = volumeBounds(start);
+        start = encoderFor(bounds).encode(start);
+        StatisticsRecorder recorder = new StatisticsRecorder(options);
+        List<AnytimeSolution> history = new AnytimeAStar(this, heuristic, goal, bounds, start, options, recorder)
+                .solve();
+        List<Transfer> best = history.isEmpty() ? null : history.get(history.size() - 1).getPath();
+        SearchOutcome<List<Transfer>> settled = settle(best, recorder);
+        return new SearchOutcome<>(history, settled.getStatus(), settled.getStatistics(), settled.getPartialPath());
+    }
+
+    /**
+     * Describes how a shortest-path call ended. Engines stopped by a limit return their
+     * best partial path instead of a solution, which is kept aside.
+     */
+    private static SearchOutcome<List<Transfer>> settle(List<Transfer> path, StatisticsRecorder recorder) {
+        SearchStatistics statistics = recorder.finish().snapshot();
+        SearchStatus stopReason = recorder.getStopReason();
+        if (stopReason != null) {
+            return new SearchOutcome<>(null, stopReason, statistics, path);
         }
+        return new SearchOutcome<>(path, path == null ? SearchStatus.NO_SOLUTION : SearchStatus.SOLVED, statistics,
+                List.of());
+    }
 
-        return null;
+    /**
+     * Describes how an enumeration or counting call ended: the limit that stopped it, or
+     * whether it produced anything.
+     */
+    private static <T> SearchOutcome<T> conclude(T value, boolean found, StatisticsRecorder recorder) {
+        SearchStatistics statistics = recorder.finish().snapshot();
+        SearchStatus stopReason = recorder.getStopReason();
+        SearchStatus status = stopReason != null ? stopReason : found ? SearchStatus.SOLVED : SearchStatus.NO_SOLUTION;
+        return new SearchOutcome<>(value, status, statistics, List.of());
     }
 
-    private List<MoveResult> generateNextStates(State current) {
-        List<MoveResult> results = new ArrayList<>();
-        int[] volumes = current.getVolumes();
-        int numContainers = volumes.length;
+    /**
+     * Reports every legal transfer out of {@code current} to the visitor, in a fixed
+     * order (by source, then target), without allocating. Only the topology's edges
+     * are visited, so the cost is proportional to containers plus pipes.
+     */
+    public void forEachSuccessor(State current, SuccessorVisitor visitor) {
+        int numContainers = current.size();
 
         for (int from = 0; from < numContainers; from++) {
-            if (volumes[from] == 0) {
+            int fromVolume = current.volumeAt(from);
+            if (fromVolume == 0) {
                 continue;
             }
 
-            for (int to = 0; to < numContainers; to++) {
-                if (from == to) {
+            for (int to : routes.targetsOf(from)) {
+                int transferAmount = Math.min(fromVolume, capacities[to] - current.volumeAt(to));
+                if (transferAmount <= 0 || !routes.isAllowed(current, from, to, transferAmount)) {
                     continue;
                 }
 
-                int transferAmount = Math.min(volumes[from], capacities[to] - volumes[to]);
-                if (transferAmount <= 0 || !isAllowed(current, from, to, transferAmount)) {
+                visitor.visit(from, to, transferAmount, transferAmount);
+            }
+        }
+    }
+
+    /**
+     * Returns whether transfers between disjoint pairs of containers always commute. A
+     * pour only reads its two containers, so they do unless a constraint looks at the
+     * rest of the state.
+     */
+    boolean hasCommutingTransfers() {
+        return routes.hasOnlyAmountConstraints();
+    }
+
+    /**
+     * Reports every legal transfer that ends in {@code current}, as the forward transfer
+     * from its predecessor. A pour always moves min(source volume, free space in the
+     * target), so after a pour along a route either the source is empty or the target is
+     * full; each such case yields one predecessor per amount. Predecessors that would
+     * exceed {@code bounds} cannot be reached from the start and are skipped.
+     */
+    void forEachPredecessor(State current, int[] bounds, SuccessorVisitor visitor) {
+        int numContainers = current.size();
+
+        for (int from = 0; from < numContainers; from++) {
+            int fromVolume = current.volumeAt(from);
+            for (int to : routes.targetsOf(from)) {
+                int toVolume = current.volumeAt(to);
+                boolean targetFull = toVolume == capacities[to];
+                if (!targetFull && (fromVolume != 0 || toVolume > capacities[to])) {
                     continue;
                 }
 
-                results.add(new MoveResult(applyTransfer(volumes, from, to, transferAmount),
-                        new Transfer(from, to, transferAmount, transferAmount)));
+                int maxAmount = Math.min(toVolume, bounds[from] - fromVolume);
+                for (int amount = 1; amount <= maxAmount; amount++) {
+                    if (!routes.hasDynamicConstraints()
+                            || routes.isAllowed(current.afterTransfer(to, from, amount), from, to, amount)) {
+                        visitor.visit(from, to, amount, amount);
+                    }
+                }
             }
         }
-
-        return results;
     }
 
     public List<List<Transfer>> findAllSolutions(State start, GoalCondition goal, int maxDepth) {
         return findAllSolutions(start, goal, maxDepth, Integer.MAX_VALUE);
     }
 
+    /**
+     * Returns transfer paths of at most {@code maxDepth} steps that end in a goal state
+     * and never revisit a state, in depth-first order unless a parallel run was asked
+     * not to keep that order. Enumeration stops once {@code maxSolutions} are found, or
+     * when a limit in the search options runs out, in which case the solutions found so
+     * far are returned. The paths come back in an immutable {@link SolutionStore} that
+     * shares their prefixes.
+     */
     public List<List<Transfer>> findAllSolutions(State start, GoalCondition goal, int maxDepth, int maxSolutions) {
-        List<List<Transfer>> allSolutions = new ArrayList<>();
-        Set<State> pathStates = new HashSet<>();
-        pathStates.add(start);
-
-        collectSolutions(start, goal, maxDepth, maxSolutions, new ArrayList<>(), pathStates, allSolutions);
-        return allSolutions;
+        return searchAllSolutions(start, goal, maxDepth, maxSolutions).getValue();
     }
 
-    private void collectSolutions(State current,
-                                  GoalCondition goal,
-                                  int maxDepth,
-                                  int maxSolutions,
-                                  List<Transfer> path,
-                                  Set<State> pathStates,
-                                  List<List<Transfer>> allSolutions) {
-        if (allSolutions.size() >= maxSolutions) {
-            return;
-        }
-
-        if (goal.isSatisfied(current)) {
-            allSolutions.add(new ArrayList<>(path));
-            if (allSolutions.size() >= maxSolutions) {
-                return;
-            }
-        }
+    /**
+     * Runs {@link #findAllSolutions(State, GoalCondition, int, int)} and reports how the
+     * enumeration ended, including which limit stopped it early.
+     */
+    public SearchOutcome<List<List<Transfer>>> searchAllSolutions(State start, GoalCondition goal, int maxDepth,
+                                                                  int maxSolutions) {
+        SolutionStore.Builder solutions = SolutionStore.builder();
+        SearchOutcome<Long> streamed = searchAllSolutions(start, goal, maxDepth, maxSolutions, solutions);
+        return new SearchOutcome<>(solutions.build(), streamed.getStatus(), streamed.getStatistics(), List.of());
+    }
 
-        if (path.size() >= maxDepth) {
-            return;
-        }
+    /**
+     * Enumerates the same solutions as {@link #findAllSolutions(State, GoalCondition, int, int)}
+     * but hands each one to {@code consumer} as it is found instead of collecting them,
+     * so memory stays bounded by the search itself. Returns how many solutions the
+     * consumer received; enumeration also stops when the consumer returns false.
+     */
+    public long findAllSolutions(State start, GoalCondition goal, int maxDepth, int maxSolutions,
+                                 SolutionConsumer consumer) {
+        return searchAllSolutions(start, goal, maxDepth, maxSolutions, consumer).getValue();
+    }
 
-        for (MoveResult next : generateNextStates(current)) {
-            if (allSolutions.size() >= maxSolutions) {
-                return;
-            }
+    /**
+     * Runs {@link #findAllSolutions(State, GoalCondition, int, int, SolutionConsumer)} and
+     * reports how the enumeration ended along with the number of solutions delivered.
+     */
+    public SearchOutcome<Long> searchAllSolutions(State start, GoalCondition goal, int maxDepth, int maxSolutions,
+                                                  SolutionConsumer consumer) {
+        Objects.requireNonNull(consumer, "consumer cannot be null");
+        start = encoderFor(volumeBounds(start)).encode(start);
+        StatisticsRecorder recorder = new StatisticsRecorder(options);
+        long delivered = new SolutionEnumerator(this, goal, maxDepth, maxSolutions, options, consumer)
+                .enumerate(start, recorder);
+        return conclude(delivered, delivered > 0, recorder);
+    }
 
-            State nextState = next.getNewState();
-            if (pathStates.contains(nextState)) {
-                continue;
-            }
+    /**
+     * Returns how many sequences of at most {@code maxDepth} transfers lead from the start
+     * to a goal state, without building any of them. Unlike {@link #findAllSolutions}
+     * the sequences may revisit states; see {@link SolutionCounter}. A run stopped by a
+     * limit in the search options returns a lower bound.
+     */
+    public BigInteger countSolutions(State start, GoalCondition goal, int maxDepth) {
+        return searchSolutionCount(start, goal, maxDepth).getValue();
+    }
 
-            path.add(next.getAction());
-            pathStates.add(nextState);
-            collectSolutions(nextState, goal, maxDepth, maxSolutions, path, pathStates, allSolutions);
-            pathStates.remove(nextState);
-            path.remove(path.size() - 1);
+    /**
+     * Runs {@link #countSolutions} and reports how the count ended, including which limit
+     * stopped it early.
+     */
+    public SearchOutcome<BigInteger> searchSolutionCount(State start, GoalCondition goal, int maxDepth) {
+        if (maxDepth < 0 || maxDepth == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Counting solutions needs a bounded, non-negative maxDepth.");
         }
+        start = encoderFor(volumeBounds(start)).encode(start);
+        StatisticsRecorder recorder = new StatisticsRecorder(options);
+        BigInteger count = new SolutionCounter(this, goal, maxDepth).count(start, recorder);
+        return conclude(count, count.signum() > 0, recorder);
     }
 
     public List<List<Transfer>> findAllPaths(State start, GoalCondition goal) {
@@ -164,23 +419,45 @@ public class AStar {
         return findAllSolutions(start, goal, Integer.MAX_VALUE, maxSolutions);
     }
 
-    private int score(Node node) {
-        return node.getCost() + heuristic.estimate(node.getState());
-    }
+    /**
+     * Returns the largest volume each container can ever hold during this run, or null
+     * if the start state has negative values and no bound applies. Transfers never push
+     * a container above its capacity, volume only ever leaves a container that starts
+     * above capacity, and no container can exceed the conserved total.
+     */
+    private int[] volumeBounds(State start) {
+        if (start.size() != capacities.length) {
+            throw new IllegalArgumentException("Start state must have one volume per container.");
+        }
 
-    private boolean isAllowed(State current, int from, int to, int transferAmount) {
-        for (TransferConstraint constraint : constraints) {
-            if (!constraint.isAllowed(current, from, to, transferAmount)) {
-                return false;
+        long total = 0;
+        for (int i = 0; i < capacities.length; i++) {
+            int volume = start.volumeAt(i);
+            if (volume < 0 || capacities[i] < 0) {
+                return null;
             }
+            total += volume;
+        }
+
+        int[] bounds = new int[capacities.length];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = (int) Math.min(Math.max(capacities[i], start.volumeAt(i)), total);
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns the interchangeable container classes for a sequential search, or no
+     * classes when symmetry reduction is off or volumes are unbounded.
+     */
+    private ContainerSymmetry detectSymmetry(int[] bounds, GoalCondition goal) {
+        if (bounds == null || !options.isSymmetryReduction()) {
+            return ContainerSymmetry.none();
         }
-        return true;
+        return ContainerSymmetry.detect(capacities, routes, heuristic, goal);
     }
 
-    private static State applyTransfer(int[] volumes, int from, int to, int transferAmount) {
-        int[] newVolumes = volumes.clone();
-        newVolumes[from] -= transferAmount;
-        newVolumes[to] += transferAmount;
-        return new State(newVolumes);
+    private StateCodec encoderFor(int[] bounds) {
+        return bounds == null ? StateCodec.unpacked(capacities.length) : StateCodec.forBounds(bounds);
     }
 }
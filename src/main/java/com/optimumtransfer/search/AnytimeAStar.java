@@ -0,0 +1,195 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.heuristics.Heuristic;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Anytime repairing A* (ARA*).
+ *
+ * Each iteration orders the frontier by g + w * h and stops once no open node sorts
+ * below the best goal found, which bounds that goal's cost by w times the optimum for
+ * an admissible heuristic. The weight then shrinks and the next iteration resumes from
+ * the same cost table and frontier: states that got cheaper after being expanded in
+ * this iteration wait on an inconsistent list and rejoin the frontier, so no state is
+ * expanded more than once per iteration. The last iteration runs with w = 1, which is
+ * plain A* and proves the final plan optimal.
+ *
+ * A run owns its frontier and tables, so create one per call.
+ */
+final class AnytimeAStar {
+    private final AStar engine;
+    private final Heuristic heuristic;
+    private final GoalCondition goal;
+    private final SearchOptions options;
+    private final StatisticsRecorder recorder;
+    private final AnytimeListener listener;
+    private final CostTable bestCosts;
+    private final List<Node> inconsistent = new ArrayList<>();
+    private final Set<State> closed = new HashSet<>();
+    private final MoveBuffer moves = new MoveBuffer();
+    private final List<AnytimeSolution> history = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+    private OpenList open;
+    private double weight;
+    private Node incumbent;
+
+    AnytimeAStar(AStar engine, Heuristic heuristic, GoalCondition goal, int[] bounds, State start,
+                 SearchOptions options, StatisticsRecorder recorder) {
+        this.engine = engine;
+        this.heuristic = heuristic;
+        this.goal = goal;
+        this.options = options;
+        this.recorder = recorder;
+        this.listener = options.getAnytimeListener();
+        this.bestCosts = CostTable.create(bounds, start.sum(), options.getDenseTableBudgetBytes());
+        this.weight = options.getAnytimeInitialWeight();
+        this.open = OpenList.create(options.getOpenListType());
+        bestCosts.put(start, 0);
+        open.add(keyed(start, null, null, 0));
+    }
+
+    /**
+     * Runs iterations until the plan is proven optimal, no plan exists, or a limit stops
+     * the search, and returns every plan published on the way.
+     */
+    List<AnytimeSolution> solve() {
+        while (true) {
+            improvePath();
+            List<Node> frontier = drainFrontier();
+            if (recorder.isStopped()) {
+                publish(lowerBoundRatio(frontier));
+                return history;
+            }
+            if (incumbent == null) {
+                return history;
+            }
+
+            double bound = Math.min(weight, lowerBoundRatio(frontier));
+            publish(bound);
+            if (bound <= 1.0) {
+                return history;
+            }
+
+            weight = Math.max(1.0, weight - options.getAnytimeWeightStep());
+            open = OpenList.create(options.getOpenListType());
+            for (Node node : frontier) {
+                open.add(keyed(node.getState(), node.getParent(), node.getAction(), node.getCost()));
+            }
+            closed.clear();
+        }
+    }
+
+    private void improvePath() {
+        while (!open.isEmpty() && !recorder.isStopped()) {
+            Node current = open.poll();
+            if (incumbent != null && current.getPriority() >= incumbent.getCost()) {
+                open.add(current);
+                return;
+            }
+
+            State currentState = current.getState();
+            if (current.getCost() > bestCosts.get(currentState) || !closed.add(currentState)) {
+                recorder.duplicate();
+                continue;
+            }
+            if (goal.isSatisfied(currentState)) {
+                if (incumbent == null || current.getCost() < incumbent.getCost()) {
+                    incumbent = current;
+                }
+                continue;
+            }
+
+            recorder.expanded();
+            moves.clear();
+            engine.forEachSuccessor(currentState, moves);
+            for (int i = 0; i < moves.size(); i++) {
+                int from = moves.from(i);
+                int to = moves.to(i);
+                int amount = moves.amount(i);
+                int newCost = current.getCost() + moves.weight(i);
+                if (newCost >= bestCosts.getAfterTransfer(currentState, from, to, amount)) {
+                    recorder.duplicate();
+                    continue;
+                }
+
+                State nextState = currentState.afterTransfer(from, to, amount);
+                bestCosts.put(nextState, newCost);
+                Node next = keyed(nextState, current, moves.toTransfer(i), newCost);
+                if (closed.contains(nextState)) {
+                    inconsistent.add(next);
+                } else {
+                    open.add(next);
+                }
+                recorder.generated();
+            }
+            recorder.frontier((long) open.size() + inconsistent.size());
+            recorder.closed(bestCosts.size());
+        }
+    }
+
+    /**
+     * Empties the frontier and the inconsistent list into one list without stale entries.
+     */
+    private List<Node> drainFrontier() {
+        List<Node> frontier = new ArrayList<>(open.size() + inconsistent.size());
+        while (!open.isEmpty()) {
+            Node node = open.poll();
+            if (node.getCost() <= bestCosts.get(node.getState())) {
+                frontier.add(node);
+            }
+        }
+        for (Node node : inconsistent) {
+            if (node.getCost() <= bestCosts.get(node.getState())) {
+                frontier.add(node);
+            }
+        }
+        inconsistent.clear();
+        return frontier;
+    }
+
+    /**
+     * Returns the incumbent's cost over the smallest g + h left on the frontier, a lower
+     * bound on the optimum. An empty frontier leaves nothing cheaper to find.
+     */
+    private double lowerBoundRatio(List<Node> frontier) {
+        if (incumbent == null || incumbent.getCost() == 0) {
+            return 1.0;
+        }
+        long lowerBound = Long.MAX_VALUE;
+        for (Node node : frontier) {
+            lowerBound = Math.min(lowerBound, (long) node.getCost() + heuristic.estimate(node.getState()));
+        }
+        if (lowerBound >= incumbent.getCost()) {
+            return 1.0;
+        }
+        return lowerBound <= 0 ? Double.POSITIVE_INFINITY : (double) incumbent.getCost() / lowerBound;
+    }
+
+    private void publish(double bound) {
+        if (incumbent == null) {
+            return;
+        }
+        AnytimeSolution last = history.isEmpty() ? null : history.get(history.size() - 1);
+        if (last != null && last.getCost() <= incumbent.getCost() && last.getSuboptimalityBound() <= bound) {
+            return;
+        }
+        AnytimeSolution solution = new AnytimeSolution(incumbent.getPath(), incumbent.getCost(), bound,
+                System.nanoTime() - startNanos);
+        history.add(solution);
+        if (listener != null) {
+            listener.onSolution(solution);
+        }
+    }
+
+    private Node keyed(State state, Node parent, Transfer action, int cost) {
+        long inflated = (long) Math.floor(weight * heuristic.estimate(state));
+        return new Node(state, parent, action, cost, (int) Math.min(inflated, Integer.MAX_VALUE - (long) cost));
+    }
+}
@@ -0,0 +1,10 @@
+package com.optimumtransfer.search;
+
+/**
+ * Receives every plan the anytime engine publishes, on the searching thread, as soon as
+ * it is found or its bound tightens. Each plan is cheaper or better bounded than the last.
+ */
+@FunctionalInterface
+public interface AnytimeListener {
+    void onSolution(AnytimeSolution solution);
+}
@@ -0,0 +1,58 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.Transfer;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * One plan published by the anytime engine: the transfers, their total cost, and a
+ * proven factor by which that cost may still exceed the optimum. A bound of 1 means
+ * the plan is optimal; an infinite bound means no guarantee is known yet.
+ */
+public final class AnytimeSolution {
+    private final List<Transfer> path;
+    private final int cost;
+    private final double suboptimalityBound;
+    private final long elapsedNanos;
+
+    public AnytimeSolution(List<Transfer> path, int cost, double suboptimalityBound, long elapsedNanos) {
+        this.path = List.copyOf(Objects.requireNonNull(path, "path cannot be null"));
+        this.cost = cost;
+        this.suboptimalityBound = suboptimalityBound;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<Transfer> getPath() {
+        return path;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Returns a factor w such that {@code getCost() <= w * optimal cost}.
+     */
+    public double getSuboptimalityBound() {
+        return suboptimalityBound;
+    }
+
+    /**
+     * Returns the time from the start of the call until this plan was published.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isProvenOptimal() {
+        return suboptimalityBound <= 1.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "cost=%d, steps=%d, bound=%.3f, after=%.1fms",
+                cost, path.size(), suboptimalityBound, elapsedNanos / 1e6);
+    }
+}
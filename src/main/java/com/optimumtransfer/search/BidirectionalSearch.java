@@ -0,0 +1,132 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bidirectional uniform-cost search between a start state and one fully known target.
+ *
+ * The forward side expands legal transfers from the start; the backward side expands
+ * the inverse relation from the target, so every backward node stores the forward
+ * transfer that leads out of it. Whenever one side reaches a state the other side has
+ * already reached, the joined cost becomes a candidate answer. Once the cheapest open
+ * costs of the two sides plus the lightest possible transfer reach the best candidate,
+ * no cheaper path can remain and the candidate is optimal.
+ */
+final class BidirectionalSearch {
+    private static final int MIN_TRANSFER_WEIGHT = 1;
+
+    private final AStar engine;
+    private final int[] bounds;
+    private final OpenListType openListType;
+
+    BidirectionalSearch(AStar engine, int[] bounds, OpenListType openListType) {
+        this.engine = engine;
+        this.bounds = bounds;
+        this.openListType = openListType;
+    }
+
+    List<Transfer> solve(State start, State target, StatisticsRecorder recorder) {
+        if (start.equals(target)) {
+            return List.of();
+        }
+        if (start.sum() != target.sum()) {
+            return null;
+        }
+
+        Side forward = new Side(true, start);
+        Side backward = new Side(false, target);
+        long bestCost = Long.MAX_VALUE;
+        Node bestForward = null;
+        Node bestBackward = null;
+
+        while (!forward.open.isEmpty() && !backward.open.isEmpty() && !recorder.isStopped()) {
+            Side side = forward.open.size() <= backward.open.size() ? forward : backward;
+            Side other = side == forward ? backward : forward;
+
+            Node current = side.open.poll();
+            State currentState = current.getState();
+            if (current.getCost() > side.reached.get(currentState).getCost()) {
+                recorder.duplicate();
+                continue;
+            }
+            side.lastPolledCost = current.getCost();
+            // The other side never pops below its last polled cost, and a path not yet seen
+            // by both sides still needs at least one more transfer, which weighs at least one.
+            if ((long) current.getCost() + other.lastPolledCost + MIN_TRANSFER_WEIGHT >= bestCost) {
+                break;
+            }
+
+            recorder.expanded();
+            MoveBuffer moves = side.moves;
+            moves.clear();
+            if (side.isForward) {
+                engine.forEachSuccessor(currentState, moves);
+            } else {
+                engine.forEachPredecessor(currentState, bounds, moves);
+            }
+
+            for (int i = 0; i < moves.size(); i++) {
+                int from = moves.from(i);
+                int to = moves.to(i);
+                int amount = moves.amount(i);
+                State nextState = side.isForward
+                        ? currentState.afterTransfer(from, to, amount)
+                        : currentState.afterTransfer(to, from, amount);
+                int newCost = current.getCost() + moves.weight(i);
+
+                Node known = side.reached.get(nextState);
+                if (known != null && known.getCost() <= newCost) {
+                    recorder.duplicate();
+                    continue;
+                }
+                Node next = new Node(nextState, current, moves.toTransfer(i), newCost, 0);
+                side.reached.put(nextState, next);
+                side.open.add(next);
+                recorder.generated();
+
+                Node opposite = other.reached.get(nextState);
+                if (opposite != null && (long) newCost + opposite.getCost() < bestCost) {
+                    bestCost = (long) newCost + opposite.getCost();
+                    bestForward = side.isForward ? next : opposite;
+                    bestBackward = side.isForward ? opposite : next;
+                }
+            }
+            recorder.frontier((long) forward.open.size() + backward.open.size());
+            recorder.closed((long) forward.reached.size() + backward.reached.size());
+        }
+
+        return bestForward == null ? null : join(bestForward, bestBackward);
+    }
+
+    /**
+     * Concatenates the forward path to the meeting state with the backward chain from
+     * it, whose stored transfers already point toward the target.
+     */
+    private static List<Transfer> join(Node forwardNode, Node backwardNode) {
+        List<Transfer> path = forwardNode.getPath();
+        for (Node node = backwardNode; node.getParent() != null; node = node.getParent()) {
+            path.add(node.getAction());
+        }
+        return path;
+    }
+
+    private final class Side {
+        private final boolean isForward;
+        private final OpenList open = OpenList.create(openListType);
+        private final Map<State, Node> reached = new HashMap<>();
+        private final MoveBuffer moves = new MoveBuffer();
+        private int lastPolledCost;
+
+        private Side(boolean isForward, State root) {
+            this.isForward = isForward;
+            Node rootNode = new Node(root, null, null, 0, 0);
+            open.add(rootNode);
+            reached.put(root, rootNode);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.optimumtransfer.search;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Binary-heap frontier. Suitable for any non-negative cost range.
+ */
+final class BinaryHeapOpenList implements OpenList {
+    private static final Comparator<Node> ORDER = Comparator.comparingInt(Node::getPriority)
+            .thenComparing(Comparator.comparingInt(Node::getCost).reversed());
+
+    private final PriorityQueue<Node> heap = new PriorityQueue<>(ORDER);
+
+    @Override
+    public void add(Node node) {
+        heap.add(node);
+    }
+
+    @Override
+    public Node poll() {
+        return heap.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+}
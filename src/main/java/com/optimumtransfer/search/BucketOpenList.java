@@ -0,0 +1,107 @@
+package com.optimumtransfer.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dial-style bucket frontier for small non-negative integer f-scores.
+ *
+ * Nodes are kept in one bucket per f-score, and each f bucket is split again
+ * by cost so far so the deepest node is popped first. Nodes with the same f
+ * and cost leave in insertion order, which keeps runs deterministic. Push is
+ * O(1); poll is amortised O(1) because the minimum f pointer only moves
+ * forward while A* keeps f non-decreasing, and is reset if a smaller f arrives.
+ * Memory grows with the largest f-score seen, so prefer the binary heap when
+ * transfer amounts or heuristic values are large.
+ */
+final class BucketOpenList implements OpenList {
+    private final List<CostBuckets> buckets = new ArrayList<>();
+    private int minPriority;
+    private int size;
+
+    @Override
+    public void add(Node node) {
+        int priority = node.getPriority();
+        if (priority < 0 || node.getCost() < 0) {
+            throw new IllegalArgumentException("Bucket queue requires non-negative costs and estimates.");
+        }
+
+        while (buckets.size() <= priority) {
+            buckets.add(null);
+        }
+        CostBuckets bucket = buckets.get(priority);
+        if (bucket == null) {
+            bucket = new CostBuckets();
+            buckets.set(priority, bucket);
+        }
+        bucket.add(node);
+
+        if (size == 0 || priority < minPriority) {
+            minPriority = priority;
+        }
+        size++;
+    }
+
+    @Override
+    public Node poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        while (true) {
+            CostBuckets bucket = buckets.get(minPriority);
+            if (bucket != null && !bucket.isEmpty()) {
+                size--;
+                return bucket.poll();
+            }
+            minPriority++;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static final class CostBuckets {
+        private final List<ArrayDeque<Node>> byCost = new ArrayList<>();
+        private int maxCost = -1;
+        private int size;
+
+        void add(Node node) {
+            int cost = node.getCost();
+            while (byCost.size() <= cost) {
+                byCost.add(null);
+            }
+            ArrayDeque<Node> queue = byCost.get(cost);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                byCost.set(cost, queue);
+            }
+            queue.addLast(node);
+            maxCost = Math.max(maxCost, cost);
+            size++;
+        }
+
+        Node poll() {
+            while (true) {
+                ArrayDeque<Node> queue = byCost.get(maxCost);
+                if (queue != null && !queue.isEmpty()) {
+                    size--;
+                    return queue.pollFirst();
+                }
+                maxCost--;
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
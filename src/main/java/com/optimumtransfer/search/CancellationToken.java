@@ -0,0 +1,20 @@
+package com.optimumtransfer.search;
+
+/**
+ * Lets one thread ask a running search to stop.
+ *
+ * Engines poll the token between expansions, so a cancelled search returns shortly after
+ * {@link #cancel()} with status {@link SearchStatus#CANCELLED} and whatever it found so
+ * far. A token stays cancelled; use a fresh one for the next request.
+ */
+public final class CancellationToken {
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
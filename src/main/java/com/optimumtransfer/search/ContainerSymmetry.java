@@ -0,0 +1,293 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.goals.AllOfGoal;
+import com.optimumtransfer.goals.AnyOfGoal;
+import com.optimumtransfer.goals.EvenDistributionGoal;
+import com.optimumtransfer.goals.ExactMatchGoal;
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.goals.LinearComparisonGoal;
+import com.optimumtransfer.goals.SingleContainerGoal;
+import com.optimumtransfer.heuristics.EvenDistributionHeuristic;
+import com.optimumtransfer.heuristics.Heuristic;
+import com.optimumtransfer.heuristics.SingleContainerHeuristic;
+import com.optimumtransfer.heuristics.TotalVolumeHeuristic;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.StateCodec;
+import com.optimumtransfer.model.Transfer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classes of interchangeable containers.
+ *
+ * Two containers are interchangeable when swapping them changes nothing the search can
+ * observe: they have the same capacity, the goal and heuristic treat them alike, and
+ * the open routes look the same after the swap. Swaps within a class then map legal
+ * transfers to legal transfers of the same weight and goal states to goal states, so the
+ * search only needs one representative per class ordering: the canonical state, where
+ * each class lists its volumes in non-increasing order of container index.
+ *
+ * Detection is conservative: any goal, heuristic or constraint it does not recognise
+ * leaves every container in a class of its own.
+ */
+final class ContainerSymmetry {
+    private static final int MAX_CONTAINERS = 2048;
+    private static final ContainerSymmetry NONE = new ContainerSymmetry(new int[0][]);
+
+    private final int[][] classes;
+
+    private ContainerSymmetry(int[][] classes) {
+        this.classes = classes;
+    }
+
+    static ContainerSymmetry none() {
+        return NONE;
+    }
+
+    /**
+     * Finds the interchangeable container classes for one search.
+     */
+    static ContainerSymmetry detect(int[] capacities, RouteTable routes, Heuristic heuristic, GoalCondition goal) {
+        int n = capacities.length;
+        if (n < 2 || n > MAX_CONTAINERS || !routes.hasOnlyAmountConstraints()) {
+            return NONE;
+        }
+
+        List<List<Long>> keys = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            List<Long> key = new ArrayList<>();
+            key.add((long) capacities[i]);
+            keys.add(key);
+        }
+        if (!addGoalKeys(goal, keys) || !addHeuristicKeys(heuristic, keys)) {
+            return NONE;
+        }
+
+        boolean[][] open = new boolean[n][n];
+        for (int from = 0; from < n; from++) {
+            for (int to : routes.targetsOf(from)) {
+                open[from][to] = true;
+            }
+        }
+
+        // A class is grown around its first member: if swapping each member with that
+        // representative preserves the routes, those transpositions generate every
+        // permutation of the class.
+        Map<List<Long>, List<List<Integer>>> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            List<List<Integer>> groups = candidates.computeIfAbsent(keys.get(i), key -> new ArrayList<>());
+            List<Integer> home = null;
+            for (List<Integer> group : groups) {
+                if (swapPreservesRoutes(open, group.get(0), i)) {
+                    home = group;
+                    break;
+                }
+            }
+            if (home == null) {
+                home = new ArrayList<>();
+                groups.add(home);
+            }
+            home.add(i);
+        }
+
+        List<int[]> classes = new ArrayList<>();
+        for (List<List<Integer>> groups : candidates.values()) {
+            for (List<Integer> group : groups) {
+                if (group.size() > 1) {
+                    classes.add(group.stream().mapToInt(Integer::intValue).toArray());
+                }
+            }
+        }
+        return classes.isEmpty() ? NONE : new ContainerSymmetry(classes.toArray(new int[0][]));
+    }
+
+    boolean isTrivial() {
+        return classes.length == 0;
+    }
+
+    /**
+     * Returns per-container bounds that hold for every member of a class, since
+     * canonical states may move a volume to any container of its class.
+     */
+    int[] widenBounds(int[] bounds) {
+        int[] widened = bounds.clone();
+        for (int[] members : classes) {
+            int max = 0;
+            for (int member : members) {
+                max = Math.max(max, bounds[member]);
+            }
+            for (int member : members) {
+                widened[member] = max;
+            }
+        }
+        return widened;
+    }
+
+    /**
+     * Returns the canonical representative of the state, reusing the state when it is
+     * already canonical.
+     */
+    State canonicalize(State state, StateCodec codec) {
+        if (isCanonical(state)) {
+            return state;
+        }
+        int[] volumes = state.getVolumes();
+        int[] order = canonicalOrder(volumes);
+        int[] canonical = new int[volumes.length];
+        for (int i = 0; i < canonical.length; i++) {
+            canonical[i] = volumes[order[i]];
+        }
+        return codec.encode(canonical);
+    }
+
+    /**
+     * Replays a path found over canonical states from the concrete start, tracking which
+     * concrete container each canonical position stands for, and returns the same
+     * transfers on concrete container indices.
+     */
+    List<Transfer> concretePath(int[] start, List<Transfer> canonicalPath) {
+        int[] positions = canonicalOrder(start);
+        int[] volumes = new int[start.length];
+        for (int i = 0; i < volumes.length; i++) {
+            volumes[i] = start[positions[i]];
+        }
+
+        List<Transfer> path = new ArrayList<>(canonicalPath.size());
+        for (Transfer transfer : canonicalPath) {
+            int from = transfer.getFromContainer();
+            int to = transfer.getToContainer();
+            path.add(new Transfer(positions[from], positions[to], transfer.getAmount(), transfer.getWeight()));
+
+            volumes[from] -= transfer.getAmount();
+            volumes[to] += transfer.getAmount();
+            int[] order = canonicalOrder(volumes);
+            int[] nextVolumes = new int[volumes.length];
+            int[] nextPositions = new int[volumes.length];
+            for (int i = 0; i < volumes.length; i++) {
+                nextVolumes[i] = volumes[order[i]];
+                nextPositions[i] = positions[order[i]];
+            }
+            volumes = nextVolumes;
+            positions = nextPositions;
+        }
+        return path;
+    }
+
+    private boolean isCanonical(State state) {
+        for (int[] members : classes) {
+            int previous = state.volumeAt(members[0]);
+            for (int i = 1; i < members.length; i++) {
+                int volume = state.volumeAt(members[i]);
+                if (volume > previous) {
+                    return false;
+                }
+                previous = volume;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns, for each container, the container whose volume the canonical state puts
+     * there: within a class, larger volumes go to lower indices and ties keep their order.
+     */
+    private int[] canonicalOrder(int[] volumes) {
+        int[] order = new int[volumes.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        for (int[] members : classes) {
+            long[] sortKeys = new long[members.length];
+            for (int i = 0; i < members.length; i++) {
+                sortKeys[i] = ((long) (Integer.MAX_VALUE - volumes[members[i]]) << 32) | i;
+            }
+            Arrays.sort(sortKeys);
+            for (int i = 0; i < members.length; i++) {
+                order[members[i]] = members[(int) sortKeys[i]];
+            }
+        }
+        return order;
+    }
+
+    private static boolean swapPreservesRoutes(boolean[][] open, int a, int b) {
+        if (open[a][b] != open[b][a]) {
+            return false;
+        }
+        for (int k = 0; k < open.length; k++) {
+            if (k == a || k == b) {
+                continue;
+            }
+            if (open[a][k] != open[b][k] || open[k][a] != open[k][b]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean addGoalKeys(GoalCondition goal, List<List<Long>> keys) {
+        if (goal instanceof EvenDistributionGoal) {
+            return true;
+        }
+        if (goal instanceof ExactMatchGoal) {
+            int[] target = ((ExactMatchGoal) goal).getTargetVolumes();
+            if (target.length != keys.size()) {
+                return false;
+            }
+            for (int i = 0; i < target.length; i++) {
+                keys.get(i).add((long) target[i]);
+            }
+            return true;
+        }
+        if (goal instanceof SingleContainerGoal) {
+            markIndex(keys, ((SingleContainerGoal) goal).getIndex());
+            return true;
+        }
+        if (goal instanceof LinearComparisonGoal) {
+            LinearComparisonGoal linear = (LinearComparisonGoal) goal;
+            for (int i = 0; i < keys.size(); i++) {
+                keys.get(i).add(linear.coefficientOf(i));
+            }
+            return true;
+        }
+        if (goal instanceof AllOfGoal) {
+            return addAllGoalKeys(((AllOfGoal) goal).getConditions(), keys);
+        }
+        if (goal instanceof AnyOfGoal) {
+            return addAllGoalKeys(((AnyOfGoal) goal).getConditions(), keys);
+        }
+        return false;
+    }
+
+    private static boolean addAllGoalKeys(List<GoalCondition> goals, List<List<Long>> keys) {
+        for (GoalCondition condition : goals) {
+            if (!addGoalKeys(condition, keys)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean addHeuristicKeys(Heuristic heuristic, List<List<Long>> keys) {
+        if (heuristic instanceof ZeroHeuristic
+                || heuristic instanceof EvenDistributionHeuristic
+                || heuristic instanceof TotalVolumeHeuristic) {
+            return true;
+        }
+        if (heuristic instanceof SingleContainerHeuristic) {
+            markIndex(keys, ((SingleContainerHeuristic) heuristic).getTargetIndex());
+            return true;
+        }
+        return false;
+    }
+
+    private static void markIndex(List<List<Long>> keys, int index) {
+        for (int i = 0; i < keys.size(); i++) {
+            keys.get(i).add(i == index ? 1L : 0L);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.State;
+
+/**
+ * Best-known path cost per state, used as the closed set of the shortest-path engines.
+ */
+interface CostTable {
+    int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * Returns the best recorded cost for the state, or {@link #UNREACHABLE}.
+     */
+    int get(State state);
+
+    /**
+     * Returns the best recorded cost for the state reached by applying a transfer to
+     * {@code parent}. Implementations avoid building that state where they can.
+     */
+    default int getAfterTransfer(State parent, int from, int to, int amount) {
+        return get(parent.afterTransfer(from, to, amount));
+    }
+
+    void put(State state, int cost);
+
+    /**
+     * Returns the number of states with a recorded cost.
+     */
+    int size();
+
+    /**
+     * Returns a dense ranked table when the bounded state space fits the byte budget,
+     * otherwise an open-addressing hash table.
+     *
+     * @param bounds Largest volume per container, or null if the space is unbounded.
+     * @param total Total volume, which every transfer conserves.
+     * @param budgetBytes Memory the dense table may use; zero disables it.
+     */
+    static CostTable create(int[] bounds, int total, long budgetBytes) {
+        if (bounds != null && budgetBytes > 0) {
+            StateRanker ranker = StateRanker.create(bounds, total, budgetBytes);
+            if (ranker != null) {
+                return new RankedCostTable(ranker);
+            }
+        }
+        return new HashCostTable();
+    }
+}
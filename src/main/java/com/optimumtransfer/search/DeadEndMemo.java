@@ -0,0 +1,61 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.State;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * States that solution enumeration has proven to reach no goal, each with the largest
+ * remaining depth the proof covers. A state proven dead with more depth left is also
+ * dead with less, so a lookup succeeds whenever the recorded depth is at least the one
+ * asked about. The table holds a fixed number of entries and forgets the least recently
+ * used one when full; a forgotten entry only costs repeated work.
+ */
+final class DeadEndMemo {
+    // Linked map entry, boxed depth, the state object and its volume array.
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+    private static final long BYTES_PER_CONTAINER = Integer.BYTES;
+
+    private final Map<State, Integer> provenDepths;
+
+    private DeadEndMemo(int capacity) {
+        this.provenDepths = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<State, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns a memo sized to the byte budget, or null when the budget does not hold a
+     * single entry.
+     */
+    static DeadEndMemo create(long budgetBytes, int containers) {
+        long entries = budgetBytes / (ENTRY_OVERHEAD_BYTES + BYTES_PER_CONTAINER * containers);
+        if (entries <= 0) {
+            return null;
+        }
+        return new DeadEndMemo((int) Math.min(entries, Integer.MAX_VALUE - 8));
+    }
+
+    /**
+     * Returns whether the state is known to reach no goal within {@code remainingDepth} transfers.
+     */
+    synchronized boolean isDeadEnd(State state, int remainingDepth) {
+        Integer proven = provenDepths.get(state);
+        return proven != null && proven >= remainingDepth;
+    }
+
+    /**
+     * Records that the state reaches no goal within {@code remainingDepth} transfers.
+     */
+    synchronized void record(State state, int remainingDepth) {
+        provenDepths.merge(state, remainingDepth, Math::max);
+    }
+
+    synchronized int size() {
+        return provenDepths.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.State;
+
+/**
+ * Open-addressing cost table with linear probing.
+ *
+ * Keys and costs live in parallel arrays, so recording a cost allocates neither an
+ * entry object nor a boxed Integer.
+ */
+final class HashCostTable implements CostTable {
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private State[] keys = new State[INITIAL_CAPACITY];
+    private int[] costs = new int[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public int get(State state) {
+        int slot = find(keys, state);
+        return keys[slot] == null ? UNREACHABLE : costs[slot];
+    }
+
+    @Override
+    public void put(State state, int cost) {
+        int slot = find(keys, state);
+        if (keys[slot] == null) {
+            keys[slot] = state;
+            size++;
+            costs[slot] = cost;
+            if (size > keys.length * LOAD_FACTOR) {
+                grow();
+            }
+            return;
+        }
+        costs[slot] = cost;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static int find(State[] table, State state) {
+        int mask = table.length - 1;
+        int slot = (int) (state.hash64() >>> 32) & mask;
+        while (table[slot] != null && !table[slot].equals(state)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        State[] oldKeys = keys;
+        int[] oldCosts = costs;
+        keys = new State[oldKeys.length << 1];
+        costs = new int[oldKeys.length << 1];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = find(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                costs[slot] = oldCosts[i];
+            }
+        }
+    }
+}
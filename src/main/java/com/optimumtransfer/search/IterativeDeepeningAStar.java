@@ -0,0 +1,169 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.heuristics.Heuristic;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Iterative-deepening A* (IDA*).
+ *
+ * Each iteration is a depth-first search that cuts off every node whose f = g + h
+ * exceeds the current bound; the next bound is the smallest f that was cut off. With
+ * an admissible heuristic the first goal reached is optimal. Memory is proportional to
+ * the path length plus a fixed-size transposition table, which only prunes states that
+ * this iteration already reached at a lower or equal cost.
+ */
+final class IterativeDeepeningAStar {
+    private final AStar engine;
+    private final Heuristic heuristic;
+    private final TranspositionTable transpositions;
+
+    IterativeDeepeningAStar(AStar engine, Heuristic heuristic, int transpositionEntries) {
+        this.engine = engine;
+        this.heuristic = heuristic;
+        this.transpositions = new TranspositionTable(transpositionEntries);
+    }
+
+    List<Transfer> solve(State start, GoalCondition goal, StatisticsRecorder recorder) {
+        long bound = heuristic.estimate(start);
+        List<Frame> frames = new ArrayList<>();
+        List<Transfer> path = new ArrayList<>();
+        Set<State> pathStates = new HashSet<>();
+        int iteration = 0;
+
+        while (true) {
+            iteration++;
+            long nextBound = Long.MAX_VALUE;
+            path.clear();
+            pathStates.clear();
+            pathStates.add(start);
+
+            if (goal.isSatisfied(start)) {
+                return path;
+            }
+            int top = open(frames, 0, start, 0, recorder);
+
+            while (top >= 0) {
+                if (recorder.isStopped()) {
+                    // The path being explored is the only progress a stopped iteration has.
+                    return new ArrayList<>(path);
+                }
+                Frame frame = frames.get(top);
+                if (frame.next >= frame.moves.size()) {
+                    pathStates.remove(frame.state);
+                    if (top > 0) {
+                        path.remove(path.size() - 1);
+                    }
+                    top--;
+                    continue;
+                }
+
+                int index = frame.next++;
+                MoveBuffer moves = frame.moves;
+                State nextState = frame.state.afterTransfer(moves.from(index), moves.to(index), moves.amount(index));
+                if (pathStates.contains(nextState)) {
+                    recorder.duplicate();
+                    continue;
+                }
+
+                int cost = frame.cost + moves.weight(index);
+                long estimate = (long) cost + heuristic.estimate(nextState);
+                if (estimate > bound) {
+                    nextBound = Math.min(nextBound, estimate);
+                    continue;
+                }
+                if (!transpositions.offer(nextState, cost, iteration)) {
+                    recorder.duplicate();
+                    continue;
+                }
+
+                recorder.generated();
+                path.add(moves.toTransfer(index));
+                if (goal.isSatisfied(nextState)) {
+                    return new ArrayList<>(path);
+                }
+                pathStates.add(nextState);
+                top = open(frames, top + 1, nextState, cost, recorder);
+            }
+            recorder.closed(transpositions.occupied());
+
+            if (nextBound == Long.MAX_VALUE) {
+                return null;
+            }
+            bound = nextBound;
+        }
+    }
+
+    private int open(List<Frame> frames, int depth, State state, int cost, StatisticsRecorder recorder) {
+        recorder.expanded();
+        recorder.frontier(depth + 1);
+        if (frames.size() == depth) {
+            frames.add(new Frame());
+        }
+        Frame frame = frames.get(depth);
+        frame.state = state;
+        frame.cost = cost;
+        frame.next = 0;
+        frame.moves.clear();
+        engine.forEachSuccessor(state, frame.moves);
+        return depth;
+    }
+
+    private static final class Frame {
+        private final MoveBuffer moves = new MoveBuffer();
+        private State state;
+        private int cost;
+        private int next;
+    }
+
+    /**
+     * Direct-mapped table of the cheapest cost at which each state was reached in the
+     * current iteration. Colliding states simply overwrite each other, so the table
+     * never grows; a lost entry only costs repeated work.
+     */
+    private static final class TranspositionTable {
+        private final State[] states;
+        private final int[] costs;
+        private final int[] iterations;
+        private final int mask;
+        private int occupied;
+
+        private TranspositionTable(int entries) {
+            int capacity = entries <= 1 ? 1 : Integer.highestOneBit(entries - 1) << 1;
+            states = new State[entries == 0 ? 0 : capacity];
+            costs = new int[states.length];
+            iterations = new int[states.length];
+            mask = capacity - 1;
+        }
+
+        /**
+         * Returns whether the state is worth expanding at this cost, recording it if so.
+         */
+        private boolean offer(State state, int cost, int iteration) {
+            if (states.length == 0) {
+                return true;
+            }
+            int slot = (int) (state.hash64() >>> 32) & mask;
+            if (iterations[slot] == iteration && costs[slot] <= cost && state.equals(states[slot])) {
+                return false;
+            }
+            if (states[slot] == null) {
+                occupied++;
+            }
+            states[slot] = state;
+            costs[slot] = cost;
+            iterations[slot] = iteration;
+            return true;
+        }
+
+        private int occupied() {
+            return occupied;
+        }
+    }
+}
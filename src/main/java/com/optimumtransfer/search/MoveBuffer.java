@@ -0,0 +1,59 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.Transfer;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch buffer of generated moves, stored as packed ints.
+ *
+ * Clearing keeps the backing array, so a buffer reused across expansions stops
+ * allocating once it has grown to the largest branching factor seen.
+ */
+final class MoveBuffer implements SuccessorVisitor {
+    private static final int FIELDS = 4;
+
+    private int[] moves = new int[FIELDS * 16];
+    private int size;
+
+    @Override
+    public void visit(int from, int to, int amount, int weight) {
+        int offset = size * FIELDS;
+        if (offset == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[offset] = from;
+        moves[offset + 1] = to;
+        moves[offset + 2] = amount;
+        moves[offset + 3] = weight;
+        size++;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int from(int index) {
+        return moves[index * FIELDS];
+    }
+
+    int to(int index) {
+        return moves[index * FIELDS + 1];
+    }
+
+    int amount(int index) {
+        return moves[index * FIELDS + 2];
+    }
+
+    int weight(int index) {
+        return moves[index * FIELDS + 3];
+    }
+
+    Transfer toTransfer(int index) {
+        return new Transfer(from(index), to(index), amount(index), weight(index));
+    }
+}
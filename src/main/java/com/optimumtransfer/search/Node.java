@@ -3,6 +3,8 @@ package com.optimumtransfer.search;
 import com.optimumtransfer.model.State;
 import com.optimumtransfer.model.Transfer;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -13,25 +15,37 @@ import java.util.List;
  *
  * Description:
  * Represents a node in the A* search algorithm.
- * Each node contains a model.State, the path of Transfers to reach it,
- * and the total cost (number of moves so far).
+ * Each node contains a model.State, a reference to its parent node,
+ * the single model.Transfer that led here, the total cost (number of moves so far),
+ * and the heuristic estimate and f-score computed once when the node is created.
+ * The full path is only rebuilt on demand by walking the parent chain.
  */
 
 public class Node implements Comparable<Node> {
     private final State state;
-    private final List<Transfer> path;
+    private final Node parent;
+    private final Transfer action;
+    private final int depth;
     private final int cost;
+    private final int estimate;
+    private final int priority;
 
     /**
      * Constructs a Search.Node for A* search.
      * @param s The current state at this node.
-     * @param p The list of Transfers taken to reach this state.
+     * @param p The parent node, or null for the root.
+     * @param a The model.Transfer taken from the parent to reach this state, or null for the root.
      * @param c The cumulative cost (number of moves) so far.
+     * @param h The heuristic estimate of the remaining cost from this state.
      */
-    Node(State s, List<Transfer> p, int c){
+    Node(State s, Node p, Transfer a, int c, int h){
         state = s;
-        path = p;
+        parent = p;
+        action = a;
+        depth = p == null ? 0 : p.depth + 1;
         cost = c;
+        estimate = h;
+        priority = c + h;
     }
 
     /**
@@ -42,9 +56,36 @@ public class Node implements Comparable<Node> {
     }
 
     /**
-     * Returns the path of Transfers taken to reach this Search.Node.
+     * Returns the parent of this Search.Node, or null for the root.
+     */
+    public Node getParent(){
+        return parent;
+    }
+
+    /**
+     * Returns the model.Transfer that led to this Search.Node, or null for the root.
+     */
+    public Transfer getAction(){
+        return action;
+    }
+
+    /**
+     * Returns the number of transfers between the root and this Search.Node.
+     */
+    public int getDepth(){
+        return depth;
+    }
+
+    /**
+     * Rebuilds the path of Transfers taken to reach this Search.Node.
+     * Runs in O(depth), so callers should only ask for it once the goal is reached.
      */
     public List<Transfer> getPath(){
+        List<Transfer> path = new ArrayList<>(depth);
+        for(Node node = this; node.parent != null; node = node.parent){
+            path.add(node.action);
+        }
+        Collections.reverse(path);
         return path;
     }
 
@@ -55,6 +96,20 @@ public class Node implements Comparable<Node> {
         return cost;
     }
 
+    /**
+     * Returns the heuristic estimate cached when this Search.Node was created.
+     */
+    public int getEstimate(){
+        return estimate;
+    }
+
+    /**
+     * Returns the f-score (cost plus estimate) cached when this Search.Node was created.
+     */
+    public int getPriority(){
+        return priority;
+    }
+
     /**
      * Compares two nodes based on their cost, for use in PriorityQueue.
      */
@@ -62,4 +117,3 @@ public class Node implements Comparable<Node> {
         return Integer.compare(cost, n.getCost());
     }
 }
-
@@ -0,0 +1,22 @@
+package com.optimumtransfer.search;
+
+/**
+ * Frontier used by the A* loop. Implementations order nodes by f-score and
+ * break ties in favour of the node with the higher cost so far.
+ */
+interface OpenList {
+    void add(Node node);
+
+    Node poll();
+
+    boolean isEmpty();
+
+    int size();
+
+    static OpenList create(OpenListType type) {
+        if (type == OpenListType.BUCKET_QUEUE) {
+            return new BucketOpenList();
+        }
+        return new BinaryHeapOpenList();
+    }
+}
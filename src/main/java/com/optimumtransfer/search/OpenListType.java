@@ -0,0 +1,6 @@
+package com.optimumtransfer.search;
+
+public enum OpenListType {
+    BINARY_HEAP,
+    BUCKET_QUEUE
+}
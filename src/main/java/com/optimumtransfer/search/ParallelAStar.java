@@ -0,0 +1,247 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.heuristics.Heuristic;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hash-distributed A* (HDA*).
+ *
+ * Every state has exactly one owning worker, chosen from its Zobrist hash. A worker
+ * keeps a private open list and cost table for the states it owns and posts successors
+ * owned by other workers to their lock-free inboxes. Workers keep expanding after the
+ * first goal is found and only stop once no open node can beat the best goal, so the
+ * returned path is optimal under an admissible heuristic, exactly like {@link AStar#solve}.
+ *
+ * Termination uses a single pending counter: each active worker and each unprocessed
+ * message holds one unit. Only active workers send messages and an idle worker only
+ * wakes for a message that is already counted, so once the counter reaches zero it
+ * stays there and the search is over.
+ */
+final class ParallelAStar {
+    private static final int SPINS_BEFORE_YIELD = 64;
+
+    private final AStar engine;
+    private final Heuristic heuristic;
+    private final SearchOptions options;
+    private final int workerCount;
+
+    ParallelAStar(AStar engine, Heuristic heuristic, SearchOptions options) {
+        this.engine = engine;
+        this.heuristic = heuristic;
+        this.options = options;
+        this.workerCount = options.getParallelism();
+    }
+
+    List<Transfer> solve(State start, GoalCondition goal, StatisticsRecorder recorder) {
+        Search search = new Search(goal, recorder);
+        search.inboxes.get(search.ownerOf(start)).add(new Node(start, null, null, 0, heuristic.estimate(start)));
+
+        Thread[] threads = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            int id = i;
+            threads[i] = new Thread(() -> search.runWorker(id), "hda-worker-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            search.failure.compareAndSet(null, e);
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel search was interrupted.", e);
+        }
+
+        Throwable failure = search.failure.get();
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Parallel search failed.", failure);
+        }
+
+        Node best = search.incumbent.get();
+        return best == null ? null : best.getPath();
+    }
+
+    private final class Search {
+        private final GoalCondition goal;
+        private final StatisticsRecorder recorder;
+        private final List<Queue<Node>> inboxes;
+        private final AtomicLong pending;
+        private final AtomicReference<Node> incumbent = new AtomicReference<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Search(GoalCondition goal, StatisticsRecorder recorder) {
+            this.goal = goal;
+            this.recorder = recorder;
+            this.inboxes = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                inboxes.add(new ConcurrentLinkedQueue<>());
+            }
+            // One unit per worker, which all start active, plus one for the start node.
+            this.pending = new AtomicLong(workerCount + 1L);
+        }
+
+        private int ownerOf(State state) {
+            return (int) Long.remainderUnsigned(state.hash64(), workerCount);
+        }
+
+        private int incumbentCost() {
+            Node best = incumbent.get();
+            return best == null ? Integer.MAX_VALUE : best.getCost();
+        }
+
+        private void offerGoal(Node node) {
+            Node best = incumbent.get();
+            while (best == null || node.getCost() < best.getCost()) {
+                if (incumbent.compareAndSet(best, node)) {
+                    return;
+                }
+                best = incumbent.get();
+            }
+        }
+
+        private void runWorker(int id) {
+            StatisticsRecorder workerStatistics = recorder.forWorker();
+            try {
+                work(id, workerStatistics);
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+                pending.set(0);
+            } finally {
+                workerStatistics.finish();
+                synchronized (recorder) {
+                    recorder.merge(workerStatistics);
+                }
+            }
+        }
+
+        private void work(int id, StatisticsRecorder statistics) {
+            Queue<Node> inbox = inboxes.get(id);
+            OpenList frontier = OpenList.create(options.getOpenListType());
+            CostTable bestCosts = new HashCostTable();
+            MoveBuffer moves = new MoveBuffer();
+            boolean active = true;
+            int spins = 0;
+
+            while (true) {
+                if (failure.get() != null || statistics.isStopped()) {
+                    return;
+                }
+
+                Node message;
+                while ((message = inbox.poll()) != null) {
+                    if (!active) {
+                        pending.incrementAndGet();
+                        active = true;
+                    }
+                    if (message.getCost() < bestCosts.get(message.getState())) {
+                        bestCosts.put(message.getState(), message.getCost());
+                        frontier.add(message);
+                        statistics.generated();
+                    } else {
+                        statistics.duplicate();
+                    }
+                    pending.decrementAndGet();
+                }
+
+                Node current = active ? pollUseful(frontier, bestCosts, statistics) : null;
+                if (current == null) {
+                    if (active) {
+                        active = false;
+                        pending.decrementAndGet();
+                    }
+                    if (pending.get() == 0) {
+                        return;
+                    }
+                    if (++spins < SPINS_BEFORE_YIELD) {
+                        Thread.onSpinWait();
+                    } else {
+                        spins = 0;
+                        Thread.yield();
+                    }
+                    continue;
+                }
+                spins = 0;
+
+                State currentState = current.getState();
+                if (goal.isSatisfied(currentState)) {
+                    offerGoal(current);
+                    continue;
+                }
+
+                statistics.expanded();
+                moves.clear();
+                engine.forEachSuccessor(currentState, moves);
+                for (int i = 0; i < moves.size(); i++) {
+                    int from = moves.from(i);
+                    int to = moves.to(i);
+                    int amount = moves.amount(i);
+                    int newCost = current.getCost() + moves.weight(i);
+                    State nextState = currentState.afterTransfer(from, to, amount);
+                    int owner = ownerOf(nextState);
+
+                    if (owner == id) {
+                        if (newCost < bestCosts.get(nextState)) {
+                            bestCosts.put(nextState, newCost);
+                            frontier.add(new Node(nextState, current, moves.toTransfer(i), newCost,
+                                    heuristic.estimate(nextState)));
+                            statistics.generated();
+                        } else {
+                            statistics.duplicate();
+                        }
+                    } else {
+                        Node child = new Node(nextState, current, moves.toTransfer(i), newCost,
+                                heuristic.estimate(nextState));
+                        if (child.getPriority() < incumbentCost()) {
+                            pending.incrementAndGet();
+                            inboxes.get(owner).add(child);
+                        }
+                    }
+                }
+                statistics.frontier(frontier.size());
+                statistics.closed(bestCosts.size());
+            }
+        }
+
+        /**
+         * Polls the next node that is neither stale nor unable to beat the incumbent goal.
+         * Since the open list is ordered by f, the first node that cannot beat the incumbent
+         * means none of the remaining ones can either, so the list is dropped.
+         */
+        private Node pollUseful(OpenList frontier, CostTable bestCosts, StatisticsRecorder statistics) {
+            while (!frontier.isEmpty()) {
+                Node node = frontier.poll();
+                if (node.getPriority() >= incumbentCost()) {
+                    while (!frontier.isEmpty()) {
+                        frontier.poll();
+                    }
+                    return null;
+                }
+                if (node.getCost() <= bestCosts.get(node.getState())) {
+                    return node;
+                }
+                statistics.duplicate();
+            }
+            return null;
+        }
+    }
+}
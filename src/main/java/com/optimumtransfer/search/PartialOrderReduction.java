@@ -0,0 +1,23 @@
+package com.optimumtransfer.search;
+
+/**
+ * How solution enumeration treats transfers that commute. Two transfers between
+ * disjoint pairs of containers reach the same state in either order, so paths that only
+ * differ by swapping such neighbours are interleavings of one plan.
+ */
+public enum PartialOrderReduction {
+    /**
+     * Enumerates every interleaving as its own path.
+     */
+    OFF,
+    /**
+     * Explores and reports one canonical interleaving per plan: the one that takes
+     * commuting transfers in successor order.
+     */
+    CANONICAL,
+    /**
+     * Explores canonical interleavings only, then reports every interleaving of each
+     * one that still visits no state twice.
+     */
+    EXPANDED
+}
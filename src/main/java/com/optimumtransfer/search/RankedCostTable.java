@@ -0,0 +1,62 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.State;
+
+import java.util.Arrays;
+
+/**
+ * Dense cost table holding one int per state of a perfectly ranked state space.
+ *
+ * Costs live in fixed-size pages that are allocated and filled on first write, so a
+ * search that settles after a few expansions pays for the pages its states touch rather
+ * than for the whole ranked space.
+ */
+final class RankedCostTable implements CostTable {
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final StateRanker ranker;
+    private final int[][] pages;
+    private int size;
+
+    RankedCostTable(StateRanker ranker) {
+        this.ranker = ranker;
+        this.pages = new int[(ranker.stateCount() + PAGE_MASK) >>> PAGE_BITS][];
+    }
+
+    @Override
+    public int get(State state) {
+        return costAt(ranker.rank(state));
+    }
+
+    @Override
+    public int getAfterTransfer(State parent, int from, int to, int amount) {
+        return costAt(ranker.rankAfterTransfer(parent, from, to, amount));
+    }
+
+    @Override
+    public void put(State state, int cost) {
+        int rank = ranker.rank(state);
+        int[] page = pages[rank >>> PAGE_BITS];
+        if (page == null) {
+            page = new int[PAGE_SIZE];
+            Arrays.fill(page, UNREACHABLE);
+            pages[rank >>> PAGE_BITS] = page;
+        }
+        if (page[rank & PAGE_MASK] == UNREACHABLE) {
+            size++;
+        }
+        page[rank & PAGE_MASK] = cost;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private int costAt(int rank) {
+        int[] page = pages[rank >>> PAGE_BITS];
+        return page == null ? UNREACHABLE : page[rank & PAGE_MASK];
+    }
+}
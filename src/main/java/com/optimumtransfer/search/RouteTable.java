@@ -0,0 +1,102 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.constraints.AmountConstraint;
+import com.optimumtransfer.constraints.RouteConstraint;
+import com.optimumtransfer.constraints.TransferConstraint;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.TransferTopology;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precomputed from-to adjacency for one solver.
+ *
+ * Routes start from the request's {@link TransferTopology}. Static
+ * {@link RouteConstraint}s are evaluated once per edge when the table is built,
+ * so move generation only walks open routes. The remaining, state-dependent constraints
+ * are kept in an array and checked per move.
+ */
+final class RouteTable {
+    private static final int[] NO_TARGETS = new int[0];
+
+    private final int[][] targets;
+    private final TransferConstraint[] dynamicConstraints;
+
+    private RouteTable(int[][] targets, TransferConstraint[] dynamicConstraints) {
+        this.targets = targets;
+        this.dynamicConstraints = dynamicConstraints;
+    }
+
+    static RouteTable build(TransferTopology topology, List<TransferConstraint> constraints) {
+        List<RouteConstraint> routeConstraints = new ArrayList<>();
+        List<TransferConstraint> dynamicConstraints = new ArrayList<>();
+        for (TransferConstraint constraint : constraints) {
+            if (constraint instanceof RouteConstraint) {
+                routeConstraints.add((RouteConstraint) constraint);
+            } else {
+                dynamicConstraints.add(constraint);
+            }
+        }
+
+        int containerCount = topology.getContainerCount();
+        int[][] targets = new int[containerCount][];
+        for (int from = 0; from < containerCount; from++) {
+            int[] edges = topology.getTargets(from);
+            int count = 0;
+            for (int to : edges) {
+                if (allowsRoute(routeConstraints, from, to)) {
+                    edges[count++] = to;
+                }
+            }
+            targets[from] = count == 0 ? NO_TARGETS : Arrays.copyOf(edges, count);
+        }
+        return new RouteTable(targets, dynamicConstraints.toArray(new TransferConstraint[0]));
+    }
+
+    /**
+     * Returns the open targets of a source container in ascending order. Callers must not modify it.
+     */
+    int[] targetsOf(int from) {
+        return targets[from];
+    }
+
+    /**
+     * Returns whether some constraint depends on more than the route, so a move's
+     * legality can only be decided with the state it starts from.
+     */
+    boolean hasDynamicConstraints() {
+        return dynamicConstraints.length > 0;
+    }
+
+    /**
+     * Returns whether every dynamic constraint only looks at the transferred amount.
+     */
+    boolean hasOnlyAmountConstraints() {
+        for (TransferConstraint constraint : dynamicConstraints) {
+            if (!(constraint instanceof AmountConstraint)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isAllowed(State current, int from, int to, int amount) {
+        for (TransferConstraint constraint : dynamicConstraints) {
+            if (!constraint.isAllowed(current, from, to, amount)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allowsRoute(List<RouteConstraint> routeConstraints, int from, int to) {
+        for (RouteConstraint constraint : routeConstraints) {
+            if (!constraint.allowsRoute(from, to)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+package com.optimumtransfer.search;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The limits of one solve or enumeration call, shared by every recorder of that call.
+ *
+ * Recorders charge their expansions and stored states here in batches, and the clock
+ * and cancellation token are only read at those checkpoints, so a search pays for the
+ * limits once every few hundred expansions rather than on every one. The first limit
+ * that runs out wins and every worker sees the same stop reason.
+ */
+final class SearchBudget {
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private final long maxExpansions;
+    private final long maxStates;
+    private final CancellationToken cancellationToken;
+    private final AtomicLong expansions = new AtomicLong();
+    private final AtomicLong states = new AtomicLong();
+    private final AtomicReference<SearchStatus> stopReason = new AtomicReference<>();
+    private volatile boolean stopped;
+
+    SearchBudget(SearchOptions options) {
+        Duration timeLimit = options.getTimeLimit();
+        this.hasDeadline = timeLimit != null;
+        this.deadlineNanos = hasDeadline ? System.nanoTime() + timeLimit.toNanos() : 0;
+        this.maxExpansions = options.getMaxExpansions();
+        this.maxStates = options.getMaxStates();
+        this.cancellationToken = options.getCancellationToken();
+    }
+
+    /**
+     * Adds a recorder's work since its last checkpoint and checks every limit. Returns
+     * how many more expansions the whole call may still perform.
+     */
+    long charge(long newExpansions, long newStates) {
+        long expanded = expansions.addAndGet(newExpansions);
+        long stored = states.addAndGet(newStates);
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            stop(SearchStatus.CANCELLED);
+        } else if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            stop(SearchStatus.TIMED_OUT);
+        } else if (expanded >= maxExpansions || stored > maxStates) {
+            stop(SearchStatus.BUDGET_EXCEEDED);
+        }
+        return maxExpansions - expanded;
+    }
+
+    /**
+     * Checks one table on its own, which catches an oversized table between checkpoints.
+     */
+    void checkStates(long tableSize) {
+        if (tableSize > maxStates) {
+            stop(SearchStatus.BUDGET_EXCEEDED);
+        }
+    }
+
+    void stop(SearchStatus reason) {
+        if (stopReason.compareAndSet(null, reason)) {
+            stopped = true;
+        }
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Returns the limit that stopped the call, or null if none did.
+     */
+    SearchStatus getStopReason() {
+        return stopReason.get();
+    }
+}
@@ -0,0 +1,13 @@
+package com.optimumtransfer.search;
+
+/**
+ * Receives periodic progress reports while a search runs.
+ *
+ * Engines call it every {@link SearchOptions#getProgressInterval()} expansions, on the
+ * searching thread. Parallel engines call it from each worker with that worker's share
+ * of the work, so implementations must be thread-safe and should return quickly.
+ */
+@FunctionalInterface
+public interface SearchListener {
+    void onProgress(SearchStatistics progress);
+}
@@ -0,0 +1,402 @@
+package com.optimumtransfer.search;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Immutable tuning knobs for the search engines.
+ *
+ * Tuning options never change which answers are valid, only how the engine gets there;
+ * the limits only decide when an engine gives up and reports why through
+ * {@link SearchOutcome#getStatus()}. The one exception is
+ * {@link #getPartialOrderReduction()}, which changes which solutions enumeration reports.
+ * Start from {@link #defaults()} and derive variants with the {@code with*} methods.
+ */
+public final class SearchOptions {
+    public static final long DEFAULT_DENSE_TABLE_BUDGET_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_TRANSPOSITION_TABLE_ENTRIES = 1 << 16;
+    public static final long DEFAULT_PROGRESS_INTERVAL = 1_000_000L;
+    public static final double DEFAULT_ANYTIME_INITIAL_WEIGHT = 3.0;
+    public static final double DEFAULT_ANYTIME_WEIGHT_STEP = 0.5;
+    public static final long DEFAULT_DEAD_END_MEMO_BUDGET_BYTES = 16L * 1024 * 1024;
+
+    private static final SearchOptions DEFAULTS = new Builder().build();
+
+    private final OpenListType openListType;
+    private final long denseTableBudgetBytes;
+    private final int parallelism;
+    private final boolean deterministicOrder;
+    private final int transpositionTableEntries;
+    private final boolean bidirectional;
+    private final boolean symmetryReduction;
+    private final SearchListener searchListener;
+    private final long progressInterval;
+    private final Duration timeLimit;
+    private final long maxExpansions;
+    private final long maxStates;
+    private final CancellationToken cancellationToken;
+    private final AnytimeListener anytimeListener;
+    private final double anytimeInitialWeight;
+    private final double anytimeWeightStep;
+    private final PartialOrderReduction partialOrderReduction;
+    private final long deadEndMemoBudgetBytes;
+
+    private SearchOptions(Builder builder) {
+        this.openListType = builder.openListType;
+        this.denseTableBudgetBytes = builder.denseTableBudgetBytes;
+        this.parallelism = builder.parallelism;
+        this.deterministicOrder = builder.deterministicOrder;
+        this.transpositionTableEntries = builder.transpositionTableEntries;
+        this.bidirectional = builder.bidirectional;
+        this.symmetryReduction = builder.symmetryReduction;
+        this.searchListener = builder.searchListener;
+        this.progressInterval = builder.progressInterval;
+        this.timeLimit = builder.timeLimit;
+        this.maxExpansions = builder.maxExpansions;
+        this.maxStates = builder.maxStates;
+        this.cancellationToken = builder.cancellationToken;
+        this.anytimeListener = builder.anytimeListener;
+        this.anytimeInitialWeight = builder.anytimeInitialWeight;
+        this.anytimeWeightStep = builder.anytimeWeightStep;
+        this.partialOrderReduction = builder.partialOrderReduction;
+        this.deadEndMemoBudgetBytes = builder.deadEndMemoBudgetBytes;
+    }
+
+    public static SearchOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public OpenListType getOpenListType() {
+        return openListType;
+    }
+
+    /**
+     * Returns the memory the shortest-path engine may spend on a dense, perfectly ranked
+     * cost table. Larger state spaces fall back to a hash table; zero always uses the hash table.
+     * The budget caps the table rather than reserving it: pages are allocated as the search
+     * reaches them.
+     */
+    public long getDenseTableBudgetBytes() {
+        return denseTableBudgetBytes;
+    }
+
+    /**
+     * Returns the number of worker threads the shortest-path engine uses. One runs the
+     * sequential A*; more runs hash-distributed A* with one open list per worker.
+     * Solution enumeration uses the same number of fork/join workers.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns whether parallel enumeration must return the same solutions, in the same
+     * depth-first order, as a single-threaded run. Without it, workers keep whichever
+     * solutions they find first, which is faster when {@code maxSolutions} is small.
+     */
+    public boolean isDeterministicOrder() {
+        return deterministicOrder;
+    }
+
+    /**
+     * Returns how many states the iterative-deepening engine remembers between branches
+     * of one iteration. The table never grows past this size; zero disables it.
+     */
+    public int getTranspositionTableEntries() {
+        return transpositionTableEntries;
+    }
+
+    /**
+     * Returns whether shortest-path requests with a fully known target state may search
+     * from both ends at once. Only single-worker runs use it.
+     */
+    public boolean isBidirectional() {
+        return bidirectional;
+    }
+
+    /**
+     * Returns whether sequential shortest-path search may merge states that only differ
+     * by a permutation of interchangeable containers.
+     */
+    public boolean isSymmetryReduction() {
+        return symmetryReduction;
+    }
+
+    /**
+     * Returns the listener that receives progress reports, or null for none.
+     */
+    public SearchListener getSearchListener() {
+        return searchListener;
+    }
+
+    /**
+     * Returns how many expansions pass between two progress reports.
+     */
+    public long getProgressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * Returns how long one solve or enumeration call may run, or null for no limit. The
+     * clock starts when the call starts.
+     */
+    public Duration getTimeLimit() {
+        return timeLimit;
+    }
+
+    /**
+     * Returns how many node expansions one call may perform, summed over all workers.
+     */
+    public long getMaxExpansions() {
+        return maxExpansions;
+    }
+
+    /**
+     * Returns how many states the cost tables of one call may hold, summed over all workers.
+     */
+    public long getMaxStates() {
+        return maxStates;
+    }
+
+    /**
+     * Returns the token that lets another thread stop a running call, or null for none.
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Returns the listener that receives each plan of an anytime run, or null for none.
+     */
+    public AnytimeListener getAnytimeListener() {
+        return anytimeListener;
+    }
+
+    /**
+     * Returns the heuristic weight of the first anytime iteration. Higher weights find a
+     * first plan sooner but bound its cost more loosely.
+     */
+    public double getAnytimeInitialWeight() {
+        return anytimeInitialWeight;
+    }
+
+    /**
+     * Returns how much the heuristic weight drops between anytime iterations.
+     */
+    public double getAnytimeWeightStep() {
+        return anytimeWeightStep;
+    }
+
+    /**
+     * Returns whether solution enumeration skips interleavings of commuting transfers.
+     * Constraints that look at more than the route and amount turn the reduction off,
+     * since they can make the order of disjoint transfers matter.
+     *
+     * Unlike the other options this one changes the answer set: {@code CANONICAL}
+     * reports one order per plan, and {@code EXPANDED} can still miss a plan whose
+     * canonical order would revisit a state.
+     */
+    public PartialOrderReduction getPartialOrderReduction() {
+        return partialOrderReduction;
+    }
+
+    /**
+     * Returns the memory solution enumeration may spend remembering states it has proven
+     * to lead to no goal within the remaining depth. The least recently used entries are
+     * dropped once the budget is full; zero turns the memo off.
+     */
+    public long getDeadEndMemoBudgetBytes() {
+        return deadEndMemoBudgetBytes;
+    }
+
+    public SearchOptions withOpenListType(OpenListType type) {
+        Builder builder = new Builder(this);
+        builder.openListType = Objects.requireNonNull(type, "openListType cannot be null");
+        return builder.build();
+    }
+
+    public SearchOptions withDenseTableBudgetBytes(long budgetBytes) {
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("denseTableBudgetBytes cannot be negative.");
+        }
+        Builder builder = new Builder(this);
+        builder.denseTableBudgetBytes = budgetBytes;
+        return builder.build();
+    }
+
+    public SearchOptions withParallelism(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1.");
+        }
+        Builder builder = new Builder(this);
+        builder.parallelism = workers;
+        return builder.build();
+    }
+
+    public SearchOptions withDeterministicOrder(boolean deterministic) {
+        Builder builder = new Builder(this);
+        builder.deterministicOrder = deterministic;
+        return builder.build();
+    }
+
+    public SearchOptions withTranspositionTableEntries(int entries) {
+        if (entries < 0) {
+            throw new IllegalArgumentException("transpositionTableEntries cannot be negative.");
+        }
+        Builder builder = new Builder(this);
+        builder.transpositionTableEntries = entries;
+        return builder.build();
+    }
+
+    public SearchOptions withBidirectional(boolean enabled) {
+        Builder builder = new Builder(this);
+        builder.bidirectional = enabled;
+        return builder.build();
+    }
+
+    public SearchOptions withSymmetryReduction(boolean enabled) {
+        Builder builder = new Builder(this);
+        builder.symmetryReduction = enabled;
+        return builder.build();
+    }
+
+    public SearchOptions withSearchListener(SearchListener listener) {
+        Builder builder = new Builder(this);
+        builder.searchListener = listener;
+        return builder.build();
+    }
+
+    public SearchOptions withProgressInterval(long expansions) {
+        if (expansions < 1) {
+            throw new IllegalArgumentException("progressInterval must be at least 1.");
+        }
+        Builder builder = new Builder(this);
+        builder.progressInterval = expansions;
+        return builder.build();
+    }
+
+    public SearchOptions withTimeLimit(Duration limit) {
+        if (limit != null && (limit.isNegative() || limit.isZero())) {
+            throw new IllegalArgumentException("timeLimit must be positive.");
+        }
+        Builder builder = new Builder(this);
+        builder.timeLimit = limit;
+        return builder.build();
+    }
+
+    public SearchOptions withMaxExpansions(long expansions) {
+        if (expansions < 1) {
+            throw new IllegalArgumentException("maxExpansions must be at least 1.");
+        }
+        Builder builder = new Builder(this);
+        builder.maxExpansions = expansions;
+        return builder.build();
+    }
+
+    public SearchOptions withMaxStates(long states) {
+        if (states < 1) {
+            throw new IllegalArgumentException("maxStates must be at least 1.");
+        }
+        Builder builder = new Builder(this);
+        builder.maxStates = states;
+        return builder.build();
+    }
+
+    public SearchOptions withCancellationToken(CancellationToken token) {
+        Builder builder = new Builder(this);
+        builder.cancellationToken = token;
+        return builder.build();
+    }
+
+    public SearchOptions withAnytimeListener(AnytimeListener listener) {
+        Builder builder = new Builder(this);
+        builder.anytimeListener = listener;
+        return builder.build();
+    }
+
+    public SearchOptions withAnytimeInitialWeight(double weight) {
+        if (!(weight >= 1.0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("anytimeInitialWeight must be a finite number of at least 1.");
+        }
+        Builder builder = new Builder(this);
+        builder.anytimeInitialWeight = weight;
+        return builder.build();
+    }
+
+    public SearchOptions withAnytimeWeightStep(double step) {
+        if (!(step > 0.0) || Double.isInfinite(step)) {
+            throw new IllegalArgumentException("anytimeWeightStep must be a finite positive number.");
+        }
+        Builder builder = new Builder(this);
+        builder.anytimeWeightStep = step;
+        return builder.build();
+    }
+
+    public SearchOptions withPartialOrderReduction(PartialOrderReduction reduction) {
+        Builder builder = new Builder(this);
+        builder.partialOrderReduction = Objects.requireNonNull(reduction, "partialOrderReduction cannot be null");
+        return builder.build();
+    }
+
+    public SearchOptions withDeadEndMemoBudgetBytes(long budgetBytes) {
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("deadEndMemoBudgetBytes cannot be negative.");
+        }
+        Builder builder = new Builder(this);
+        builder.deadEndMemoBudgetBytes = budgetBytes;
+        return builder.build();
+    }
+
+    /**
+     * Mutable staging area for one derived instance; each {@code with*} method fills a
+     * fresh builder from the current options, changes one field and builds.
+     */
+    private static final class Builder {
+        private OpenListType openListType = OpenListType.BINARY_HEAP;
+        private long denseTableBudgetBytes = DEFAULT_DENSE_TABLE_BUDGET_BYTES;
+        private int parallelism = 1;
+        private boolean deterministicOrder;
+        private int transpositionTableEntries = DEFAULT_TRANSPOSITION_TABLE_ENTRIES;
+        private boolean bidirectional = true;
+        private boolean symmetryReduction = true;
+        private SearchListener searchListener;
+        private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+        private Duration timeLimit;
+        private long maxExpansions = Long.MAX_VALUE;
+        private long maxStates = Long.MAX_VALUE;
+        private CancellationToken cancellationToken;
+        private AnytimeListener anytimeListener;
+        private double anytimeInitialWeight = DEFAULT_ANYTIME_INITIAL_WEIGHT;
+        private double anytimeWeightStep = DEFAULT_ANYTIME_WEIGHT_STEP;
+        private PartialOrderReduction partialOrderReduction = PartialOrderReduction.OFF;
+        private long deadEndMemoBudgetBytes = DEFAULT_DEAD_END_MEMO_BUDGET_BYTES;
+
+        private Builder() {
+        }
+
+        private Builder(SearchOptions options) {
+            this.openListType = options.openListType;
+            this.denseTableBudgetBytes = options.denseTableBudgetBytes;
+            this.parallelism = options.parallelism;
+            this.deterministicOrder = options.deterministicOrder;
+            this.transpositionTableEntries = options.transpositionTableEntries;
+            this.bidirectional = options.bidirectional;
+            this.symmetryReduction = options.symmetryReduction;
+            this.searchListener = options.searchListener;
+            this.progressInterval = options.progressInterval;
+            this.timeLimit = options.timeLimit;
+            this.maxExpansions = options.maxExpansions;
+            this.maxStates = options.maxStates;
+            this.cancellationToken = options.cancellationToken;
+            this.anytimeListener = options.anytimeListener;
+            this.anytimeInitialWeight = options.anytimeInitialWeight;
+            this.anytimeWeightStep = options.anytimeWeightStep;
+            this.partialOrderReduction = options.partialOrderReduction;
+            this.deadEndMemoBudgetBytes = options.deadEndMemoBudgetBytes;
+        }
+
+        private SearchOptions build() {
+            return new SearchOptions(this);
+        }
+    }
+}
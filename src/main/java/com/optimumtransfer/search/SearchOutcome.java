@@ -0,0 +1,52 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.Transfer;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable account of one search call: what it produced, how it ended, the work it did,
+ * and, for shortest-path calls a limit stopped, the best partial path it had.
+ *
+ * @param <T> What the call produces: a path, the anytime plans, the enumerated solutions
+ *            or their number.
+ */
+public final class SearchOutcome<T> {
+    private final T value;
+    private final SearchStatus status;
+    private final SearchStatistics statistics;
+    private final List<Transfer> partialPath;
+
+    SearchOutcome(T value, SearchStatus status, SearchStatistics statistics, List<Transfer> partialPath) {
+        this.value = value;
+        this.status = Objects.requireNonNull(status, "status cannot be null");
+        this.statistics = Objects.requireNonNull(statistics, "statistics cannot be null");
+        this.partialPath = partialPath == null ? List.of() : List.copyOf(partialPath);
+    }
+
+    /**
+     * Returns what the call produced. Shortest-path calls return null when no path was
+     * found or a limit stopped them before one was proven cheapest.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    public SearchStatus getStatus() {
+        return status;
+    }
+
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the best partial path of a shortest-path call that a limit stopped: a goal
+     * path not yet proven cheapest if one was found, otherwise the path to the state the
+     * heuristic ranked closest to the goal. Empty when the call finished.
+     */
+    public List<Transfer> getPartialPath() {
+        return partialPath;
+    }
+}
@@ -0,0 +1,95 @@
+package com.optimumtransfer.search;
+
+import java.util.Locale;
+
+/**
+ * Immutable counters describing how much work a search run did.
+ *
+ * Engines fill in what applies to them: depth-first engines report their deepest stack
+ * as the peak frontier, and parallel engines add up the counters of all workers, so
+ * their peak sizes are the sum of per-worker peaks.
+ */
+public final class SearchStatistics {
+    private static final SearchStatistics EMPTY = new SearchStatistics(0, 0, 0, 0, 0, 0, 0);
+
+    private final long expandedNodes;
+    private final long generatedNodes;
+    private final long duplicateNodes;
+    private final long peakFrontierSize;
+    private final long peakClosedSize;
+    private final long wallTimeNanos;
+    private final long cpuTimeNanos;
+
+    SearchStatistics(long expandedNodes,
+                     long generatedNodes,
+                     long duplicateNodes,
+                     long peakFrontierSize,
+                     long peakClosedSize,
+                     long wallTimeNanos,
+                     long cpuTimeNanos) {
+        this.expandedNodes = expandedNodes;
+        this.generatedNodes = generatedNodes;
+        this.duplicateNodes = duplicateNodes;
+        this.peakFrontierSize = peakFrontierSize;
+        this.peakClosedSize = peakClosedSize;
+        this.wallTimeNanos = wallTimeNanos;
+        this.cpuTimeNanos = cpuTimeNanos;
+    }
+
+    public static SearchStatistics empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the number of nodes whose successors were generated.
+     */
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * Returns the number of successors that were kept for later expansion.
+     */
+    public long getGeneratedNodes() {
+        return generatedNodes;
+    }
+
+    /**
+     * Returns the number of successors and pops discarded because their state was
+     * already known at an equal or lower cost, or already on the current path.
+     */
+    public long getDuplicateNodes() {
+        return duplicateNodes;
+    }
+
+    public long getPeakFrontierSize() {
+        return peakFrontierSize;
+    }
+
+    public long getPeakClosedSize() {
+        return peakClosedSize;
+    }
+
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /**
+     * Returns CPU time spent by the threads that searched, or 0 if the JVM cannot measure it.
+     */
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    public double getNodesPerSecond() {
+        return wallTimeNanos == 0 ? 0 : expandedNodes * 1e9 / wallTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "expanded=%d, generated=%d, duplicates=%d, peakFrontier=%d, peakClosed=%d, wall=%.1fms, cpu=%.1fms, nodes/s=%.0f",
+                expandedNodes, generatedNodes, duplicateNodes, peakFrontierSize, peakClosedSize,
+                wallTimeNanos / 1e6, cpuTimeNanos / 1e6, getNodesPerSecond());
+    }
+}
@@ -0,0 +1,24 @@
+package com.optimumtransfer.search;
+
+/**
+ * How a solve or enumeration call ended.
+ */
+public enum SearchStatus {
+    /** The search ran to completion and found at least one solution. */
+    SOLVED,
+    /** The search ran to completion, or was rejected up front, without finding a solution. */
+    NO_SOLUTION,
+    /** The configured time limit ran out first. */
+    TIMED_OUT,
+    /** The expansion or state budget ran out first. */
+    BUDGET_EXCEEDED,
+    /** The cancellation token was cancelled. */
+    CANCELLED;
+
+    /**
+     * Returns whether the search stopped before it could finish.
+     */
+    public boolean isStoppedEarly() {
+        return this == TIMED_OUT || this == BUDGET_EXCEEDED || this == CANCELLED;
+    }
+}
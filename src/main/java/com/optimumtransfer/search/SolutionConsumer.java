@@ -0,0 +1,19 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.Transfer;
+
+import java.util.List;
+
+/**
+ * Receives enumerated solutions one at a time, as the search finds them, so callers can
+ * write or aggregate them without holding every path in memory. The engine never calls
+ * a consumer from two threads at once, so it needs no locking of its own.
+ */
+@FunctionalInterface
+public interface SolutionConsumer {
+    /**
+     * Takes one solution path, which the consumer may keep. Returns false to stop the
+     * enumeration after this solution.
+     */
+    boolean accept(List<Transfer> solution);
+}
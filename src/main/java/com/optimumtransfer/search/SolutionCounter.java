@@ -0,0 +1,116 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.model.State;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts goal-reaching transfer sequences of bounded length without listing them.
+ *
+ * Layer k maps every state reachable in exactly k transfers to the number of sequences
+ * that reach it, and layer k + 1 adds each count to all successors of its state. Work
+ * is proportional to the states per layer times the depth rather than to the number of
+ * sequences. Sequences follow walk semantics: unlike the enumeration modes they may
+ * revisit a state, so on state graphs with cycles the count exceeds the number of
+ * simple paths {@link AStar#findAllSolutions(State, GoalCondition, int)} would list.
+ * Counts start as longs and switch to {@link BigInteger} once one overflows.
+ */
+final class SolutionCounter {
+    private final AStar engine;
+    private final GoalCondition goal;
+    private final int maxDepth;
+    private final MoveBuffer moves = new MoveBuffer();
+
+    SolutionCounter(AStar engine, GoalCondition goal, int maxDepth) {
+        this.engine = engine;
+        this.goal = goal;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Returns the number of sequences of at most {@code maxDepth} transfers from the
+     * start that end in a goal state. A stopped run returns the sequences counted in
+     * the layers it finished, a lower bound.
+     */
+    BigInteger count(State start, StatisticsRecorder recorder) {
+        Tally total = new Tally();
+        Map<State, Tally> layer = new HashMap<>();
+        layer.put(start, Tally.one());
+
+        for (int depth = 0; !layer.isEmpty(); depth++) {
+            for (Map.Entry<State, Tally> entry : layer.entrySet()) {
+                if (goal.isSatisfied(entry.getKey())) {
+                    total.add(entry.getValue());
+                }
+            }
+            if (depth == maxDepth) {
+                break;
+            }
+
+            Map<State, Tally> next = new HashMap<>();
+            for (Map.Entry<State, Tally> entry : layer.entrySet()) {
+                if (recorder.isStopped()) {
+                    return total.toBigInteger();
+                }
+                State state = entry.getKey();
+                recorder.expanded();
+                moves.clear();
+                engine.forEachSuccessor(state, moves);
+                for (int i = 0; i < moves.size(); i++) {
+                    State successor = state.afterTransfer(moves.from(i), moves.to(i), moves.amount(i));
+                    Tally reaching = next.get(successor);
+                    if (reaching == null) {
+                        next.put(successor, entry.getValue().copy());
+                        recorder.generated();
+                    } else {
+                        reaching.add(entry.getValue());
+                        recorder.duplicate();
+                    }
+                }
+            }
+            recorder.frontier(next.size());
+            recorder.closed((long) layer.size() + next.size());
+            layer = next;
+        }
+        return total.toBigInteger();
+    }
+
+    /**
+     * A non-negative count kept in a long until an addition overflows it.
+     */
+    private static final class Tally {
+        private long narrow;
+        private BigInteger wide;
+
+        private static Tally one() {
+            Tally tally = new Tally();
+            tally.narrow = 1;
+            return tally;
+        }
+
+        private Tally copy() {
+            Tally copy = new Tally();
+            copy.narrow = narrow;
+            copy.wide = wide;
+            return copy;
+        }
+
+        private void add(Tally other) {
+            if (wide == null && other.wide == null) {
+                long sum = narrow + other.narrow;
+                if (sum >= 0) {
+                    narrow = sum;
+                    return;
+                }
+            }
+            wide = toBigInteger().add(other.toBigInteger());
+        }
+
+        private BigInteger toBigInteger() {
+            return wide != null ? wide : BigInteger.valueOf(narrow);
+        }
+    }
+}
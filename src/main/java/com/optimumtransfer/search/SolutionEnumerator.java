@@ -0,0 +1,629 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Depth-first enumeration of simple transfer paths (no state repeats along a path).
+ *
+ * The search keeps its own stack, so path length is limited by heap rather than by the
+ * thread stack. With more than one worker, subtrees are split off as fork/join tasks
+ * whenever the pool runs short of queued work, and idle workers steal them.
+ *
+ * Every path is identified by the successor indices taken at each step. Depth-first
+ * order is exactly the lexicographic order of those keys, with a prefix before its
+ * extensions, which is how deterministic mode returns the same answer as a
+ * single-threaded run: it keeps the {@code maxSolutions} smallest keys and prunes any
+ * subtree whose prefix already sorts after the largest key it keeps.
+ *
+ * Solutions go to a {@link SolutionConsumer} as soon as they are found, one at a time.
+ * Only deterministic parallel runs hold solutions back, since a later worker may still
+ * report a solution that sorts first; they keep at most {@code maxSolutions} paths and
+ * hand them over in order once enumeration ends.
+ *
+ * With partial-order reduction, each frame also carries a sleep set: the transfers that
+ * an earlier sibling branch already took and that commute with the transfer leading
+ * here. Taking a sleeping transfer would only reorder a path that branch covers, so it
+ * is skipped, and of every set of paths that differ by swapping neighbouring commuting
+ * transfers only the one taking them in successor order is explored. Expanded output
+ * then lists the other orders of each such path that still visit no state twice. A
+ * plan whose canonical order would revisit a state is not explored, even when another
+ * order of it would not.
+ *
+ * A bounded memo remembers states whose subtree was fully explored without reaching a
+ * goal, together with the depth budget that was left there, and skips them when another
+ * path reaches them with no more budget. Because paths never revisit a state, a subtree
+ * only proves a dead end when none of its paths was cut short by a state above it on the
+ * current path; frames track the highest such state they ran into.
+ */
+final class SolutionEnumerator {
+    private static final int SURPLUS_TASK_THRESHOLD = 2;
+    private static final int MIN_SPLIT_REMAINING_DEPTH = 2;
+    private static final long[] NO_LABELS = new long[0];
+
+    private final AStar engine;
+    private final GoalCondition goal;
+    private final int maxDepth;
+    private final SolutionSink sink;
+    private final int parallelism;
+    private final PartialOrderReduction reduction;
+    private final long deadEndBudgetBytes;
+    private DeadEndMemo deadEnds;
+    private StatisticsRecorder recorder;
+    private State start;
+
+    SolutionEnumerator(AStar engine, GoalCondition goal, int maxDepth, int maxSolutions, SearchOptions options,
+                       SolutionConsumer consumer) {
+        this.engine = engine;
+        this.goal = goal;
+        this.maxDepth = maxDepth;
+        this.parallelism = options.getParallelism();
+        this.reduction = engine.hasCommutingTransfers() ? options.getPartialOrderReduction() : PartialOrderReduction.OFF;
+        this.deadEndBudgetBytes = options.getDeadEndMemoBudgetBytes();
+        this.sink = parallelism > 1 && options.isDeterministicOrder()
+                ? new OrderedSink(maxSolutions, consumer)
+                : new FirstFoundSink(maxSolutions, consumer);
+    }
+
+    /**
+     * Enumerates solutions into the consumer and returns how many it received.
+     */
+    long enumerate(State start, StatisticsRecorder recorder) {
+        this.recorder = recorder;
+        this.start = start;
+        if (sink.isDone()) {
+            return 0;
+        }
+        this.deadEnds = DeadEndMemo.create(deadEndBudgetBytes, start.size());
+
+        Map<State, Integer> pathStates = new HashMap<>();
+        pathStates.put(start, 0);
+        SubtreeTask root = new SubtreeTask(start, new ArrayList<>(), pathStates, new int[0], NO_LABELS, parallelism > 1);
+
+        if (parallelism > 1) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(root);
+            } finally {
+                pool.shutdownNow();
+            }
+        } else {
+            root.compute();
+        }
+        return sink.finish();
+    }
+
+    /**
+     * Passes solutions on to the consumer and decides when enumeration can stop.
+     * Implementations are safe to call from several workers.
+     */
+    private interface SolutionSink {
+        void offer(int[] key, int keyLength, List<Transfer> path);
+
+        boolean isDone();
+
+        /**
+         * Returns whether no path starting with the key can still be kept.
+         */
+        boolean prunes(int[] key, int keyLength);
+
+        /**
+         * Hands over anything still held back and returns how many solutions the
+         * consumer received in total.
+         */
+        long finish();
+    }
+
+    /**
+     * Delivers the first {@code maxSolutions} solutions any worker reports, as they are
+     * reported. A single worker reports them in depth-first order.
+     */
+    private static final class FirstFoundSink implements SolutionSink {
+        private final int maxSolutions;
+        private final SolutionConsumer consumer;
+        private final AtomicInteger found = new AtomicInteger();
+        private long delivered;
+        private volatile boolean stopped;
+
+        private FirstFoundSink(int maxSolutions, SolutionConsumer consumer) {
+            this.maxSolutions = maxSolutions;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void offer(int[] key, int keyLength, List<Transfer> path) {
+            if (found.get() < maxSolutions && found.incrementAndGet() <= maxSolutions) {
+                List<Transfer> solution = List.copyOf(path);
+                synchronized (this) {
+                    if (!stopped) {
+                        delivered++;
+                        stopped = !consumer.accept(solution);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            return stopped || found.get() >= maxSolutions;
+        }
+
+        @Override
+        public boolean prunes(int[] key, int keyLength) {
+            return false;
+        }
+
+        @Override
+        public synchronized long finish() {
+            return delivered;
+        }
+    }
+
+    /**
+     * Keeps the {@code maxSolutions} solutions that come first in depth-first order and
+     * delivers them when enumeration ends.
+     */
+    private static final class OrderedSink implements SolutionSink {
+        private final int maxSolutions;
+        private final SolutionConsumer consumer;
+        private final TreeMap<int[], List<Transfer>> kept = new TreeMap<>(Arrays::compare);
+        private volatile int[] cutoff;
+
+        private OrderedSink(int maxSolutions, SolutionConsumer consumer) {
+            this.maxSolutions = maxSolutions;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void offer(int[] key, int keyLength, List<Transfer> path) {
+            int[] solutionKey = Arrays.copyOf(key, keyLength);
+            synchronized (kept) {
+                if (kept.size() >= maxSolutions && Arrays.compare(solutionKey, kept.lastKey()) > 0) {
+                    return;
+                }
+                kept.put(solutionKey, List.copyOf(path));
+                if (kept.size() > maxSolutions) {
+                    kept.pollLastEntry();
+                }
+                if (kept.size() >= maxSolutions) {
+                    cutoff = kept.lastKey();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            return maxSolutions <= 0;
+        }
+
+        @Override
+        public boolean prunes(int[] key, int keyLength) {
+            int[] bound = cutoff;
+            return bound != null && Arrays.compare(key, 0, keyLength, bound, 0, bound.length) > 0;
+        }
+
+        @Override
+        public long finish() {
+            synchronized (kept) {
+                long delivered = 0;
+                for (Map.Entry<int[], List<Transfer>> entry : kept.entrySet()) {
+                    delivered++;
+                    if (!consumer.accept(entry.getValue())) {
+                        break;
+                    }
+                }
+                kept.clear();
+                return delivered;
+            }
+        }
+    }
+
+    /**
+     * Identifies a transfer by its route; the amount follows from the two containers.
+     */
+    private static long label(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    private static boolean commute(long a, long b) {
+        int aFrom = (int) (a >>> 32);
+        int aTo = (int) a;
+        int bFrom = (int) (b >>> 32);
+        int bTo = (int) b;
+        return aFrom != bFrom && aFrom != bTo && aTo != bFrom && aTo != bTo;
+    }
+
+    private static final class Frame {
+        private final MoveBuffer moves = new MoveBuffer();
+        private State state;
+        private int next;
+        private long[] sleep = NO_LABELS;
+        private long[] explored = new long[8];
+        private int exploredCount;
+        private int pathDepth;
+        private boolean goalBelow;
+        private int lowestBlock;
+        private boolean incomplete;
+
+        private boolean isAsleep(long label) {
+            for (long sleeping : sleep) {
+                if (sleeping == label) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the sleep set of the child reached by {@code label}: the sleeping and
+         * already explored transfers that commute with it.
+         */
+        private long[] sleepAfter(long label) {
+            long[] childSleep = new long[sleep.length + exploredCount];
+            int size = 0;
+            for (long sleeping : sleep) {
+                if (commute(sleeping, label)) {
+                    childSleep[size++] = sleeping;
+                }
+            }
+            for (int i = 0; i < exploredCount; i++) {
+                if (commute(explored[i], label)) {
+                    childSleep[size++] = explored[i];
+                }
+            }
+            return size == 0 ? NO_LABELS : Arrays.copyOf(childSleep, size);
+        }
+
+        private void markExplored(long label) {
+            if (exploredCount == explored.length) {
+                explored = Arrays.copyOf(explored, explored.length * 2);
+            }
+            explored[exploredCount++] = label;
+        }
+    }
+
+    /**
+     * Enumerates the subtree below one path prefix. The task owns its copies of the
+     * prefix and only shares the sink with other tasks. Tasks are never serialized.
+     */
+    @SuppressWarnings("serial")
+    private final class SubtreeTask extends RecursiveAction {
+        private final State root;
+        private final List<Transfer> path;
+        private final Map<State, Integer> pathStates;
+        private final long[] rootSleep;
+        private final boolean splittable;
+        private int[] key;
+        private int keyLength;
+
+        private SubtreeTask(State root, List<Transfer> path, Map<State, Integer> pathStates, int[] key, long[] rootSleep,
+                            boolean splittable) {
+            this.root = root;
+            this.path = path;
+            this.pathStates = pathStates;
+            this.key = key;
+            this.keyLength = key.length;
+            this.rootSleep = rootSleep;
+            this.splittable = splittable;
+        }
+
+        @Override
+        protected void compute() {
+            // Forked tasks count on their own and merge when done; a sequential run
+            // records straight into the caller's recorder.
+            StatisticsRecorder statistics = splittable ? recorder.forWorker() : recorder;
+            try {
+                explore(statistics);
+            } finally {
+                if (statistics != recorder) {
+                    statistics.finish();
+                    synchronized (recorder) {
+                        recorder.merge(statistics);
+                    }
+                }
+            }
+        }
+
+        private void explore(StatisticsRecorder statistics) {
+            List<Frame> frames = new ArrayList<>();
+            List<SubtreeTask> forked = new ArrayList<>();
+            int top = enter(root, frames, -1, rootSleep, statistics);
+
+            while (top >= 0 && !sink.isDone() && !statistics.isStopped()) {
+                Frame frame = frames.get(top);
+                if (frame.next >= frame.moves.size()) {
+                    if (deadEnds != null) {
+                        settle(frame, top > 0 ? frames.get(top - 1) : null);
+                    }
+                    if (top > 0) {
+                        leave(frame.state);
+                    }
+                    top--;
+                    continue;
+                }
+
+                int index = frame.next++;
+                MoveBuffer moves = frame.moves;
+                long label = label(moves.from(index), moves.to(index));
+                if (reduction != PartialOrderReduction.OFF && frame.isAsleep(label)) {
+                    statistics.duplicate();
+                    continue;
+                }
+                State nextState = frame.state.afterTransfer(moves.from(index), moves.to(index), moves.amount(index));
+                Integer onPath = pathStates.get(nextState);
+                if (onPath != null) {
+                    frame.lowestBlock = Math.min(frame.lowestBlock, onPath);
+                    statistics.duplicate();
+                    continue;
+                }
+
+                long[] childSleep = NO_LABELS;
+                if (reduction != PartialOrderReduction.OFF) {
+                    childSleep = frame.sleepAfter(label);
+                    frame.markExplored(label);
+                }
+                if (deadEnds != null && deadEnds.isDeadEnd(nextState, remainingDepth(path.size() + 1))) {
+                    statistics.duplicate();
+                    continue;
+                }
+                statistics.generated();
+                if (splittable && shouldSplit()) {
+                    // The parent cannot wait for the forked subtree, so it never learns the outcome.
+                    frame.incomplete = true;
+                    SubtreeTask child = split(nextState, moves.toTransfer(index), index, childSleep);
+                    child.fork();
+                    forked.add(child);
+                    continue;
+                }
+
+                push(nextState, moves.toTransfer(index), index);
+                int entered = enter(nextState, frames, top, childSleep, statistics);
+                if (entered == top) {
+                    leave(nextState);
+                }
+                top = entered;
+            }
+
+            for (SubtreeTask child : forked) {
+                child.join();
+            }
+        }
+
+        /**
+         * Visits a state whose transfer is already on the path and, when it may have
+         * children worth exploring, opens a frame for it. Returns the new stack top.
+         */
+        private int enter(State state, List<Frame> frames, int top, long[] sleep, StatisticsRecorder statistics) {
+            Frame parent = top >= 0 ? frames.get(top) : null;
+            if (sink.prunes(key, keyLength)) {
+                if (parent != null) {
+                    parent.incomplete = true;
+                }
+                return top;
+            }
+            boolean isGoal = goal.isSatisfied(state);
+            if (isGoal) {
+                report();
+                if (parent != null) {
+                    parent.goalBelow = true;
+                }
+                if (sink.isDone()) {
+                    return top;
+                }
+            }
+            if (path.size() >= maxDepth) {
+                return top;
+            }
+
+            int depth = top + 1;
+            if (frames.size() == depth) {
+                frames.add(new Frame());
+            }
+            Frame frame = frames.get(depth);
+            frame.state = state;
+            frame.next = 0;
+            frame.sleep = sleep;
+            frame.exploredCount = 0;
+            frame.pathDepth = path.size();
+            frame.goalBelow = isGoal;
+            frame.lowestBlock = Integer.MAX_VALUE;
+            frame.incomplete = false;
+            frame.moves.clear();
+            engine.forEachSuccessor(state, frame.moves);
+            statistics.expanded();
+            statistics.frontier(depth + 1);
+            return depth;
+        }
+
+        /**
+         * Records a fully explored frame as a dead end when nothing outside its subtree
+         * shaped the result: no goal below it, no path cut short at one of its ancestors,
+         * no subtree left to another worker or to the sink's cutoff, and no transfers
+         * asleep on arrival. Then passes what it saw on to its parent.
+         */
+        private void settle(Frame frame, Frame parent) {
+            if (!frame.goalBelow && !frame.incomplete && frame.lowestBlock >= frame.pathDepth && frame.sleep.length == 0) {
+                deadEnds.record(frame.state, remainingDepth(frame.pathDepth));
+            }
+            if (parent != null) {
+                parent.goalBelow |= frame.goalBelow;
+                parent.incomplete |= frame.incomplete;
+                parent.lowestBlock = Math.min(parent.lowestBlock, frame.lowestBlock);
+            }
+        }
+
+        private int remainingDepth(int pathDepth) {
+            return maxDepth - pathDepth;
+        }
+
+        private boolean shouldSplit() {
+            return maxDepth - path.size() > MIN_SPLIT_REMAINING_DEPTH
+                    && ForkJoinTask.getSurplusQueuedTaskCount() < SURPLUS_TASK_THRESHOLD;
+        }
+
+        /**
+         * Offers the current path, or with expanded output every reordering of it.
+         */
+        private void report() {
+            if (reduction != PartialOrderReduction.EXPANDED) {
+                sink.offer(key, keyLength, path);
+                return;
+            }
+            if (keyLength == key.length) {
+                key = Arrays.copyOf(key, Math.max(8, key.length * 2));
+            }
+            new Interleavings(path).forEach((interleaving, ordinal) -> {
+                // Reorderings sort after the path's own key and before its extensions.
+                key[keyLength] = Integer.MIN_VALUE + ordinal;
+                sink.offer(key, keyLength + 1, interleaving);
+                return !sink.isDone();
+            });
+        }
+
+        private SubtreeTask split(State child, Transfer transfer, int index, long[] childSleep) {
+            List<Transfer> childPath = new ArrayList<>(path.size() + 1);
+            childPath.addAll(path);
+            childPath.add(transfer);
+            Map<State, Integer> childStates = new HashMap<>(pathStates);
+            childStates.put(child, childPath.size());
+            int[] childKey = Arrays.copyOf(key, keyLength + 1);
+            childKey[keyLength] = index;
+            return new SubtreeTask(child, childPath, childStates, childKey, childSleep, true);
+        }
+
+        private void push(State state, Transfer transfer, int index) {
+            if (keyLength == key.length) {
+                key = Arrays.copyOf(key, Math.max(8, key.length * 2));
+            }
+            key[keyLength++] = index;
+            path.add(transfer);
+            pathStates.put(state, path.size());
+        }
+
+        private void leave(State state) {
+            keyLength--;
+            path.remove(path.size() - 1);
+            pathStates.remove(state);
+        }
+    }
+
+    private interface InterleavingVisitor {
+        /**
+         * Receives one reordering and its position in the enumeration order. Returns
+         * false to stop.
+         */
+        boolean visit(List<Transfer> interleaving, int ordinal);
+    }
+
+    /**
+     * The orders of a path's transfers that keep every pair of non-commuting transfers
+     * in place. A transfer can move once both transfers it must follow, the last earlier
+     * one on each of its containers, have been taken.
+     */
+    private final class Interleavings {
+        private final List<Transfer> path;
+        private final int[] after;
+
+        private Interleavings(List<Transfer> path) {
+            this.path = path;
+            this.after = new int[path.size() * 2];
+            Map<Integer, Integer> lastTouch = new HashMap<>();
+            for (int i = 0; i < path.size(); i++) {
+                Transfer transfer = path.get(i);
+                after[2 * i] = lastTouch.getOrDefault(transfer.getFromContainer(), -1);
+                after[2 * i + 1] = lastTouch.getOrDefault(transfer.getToContainer(), -1);
+                lastTouch.put(transfer.getFromContainer(), i);
+                lastTouch.put(transfer.getToContainer(), i);
+            }
+        }
+
+        /**
+         * Visits every order that visits no state twice, the path's own order first,
+         * backtracking with an explicit stack so long paths cannot overflow the thread stack.
+         */
+        private void forEach(InterleavingVisitor visitor) {
+            int n = path.size();
+            boolean[] taken = new boolean[n];
+            int[] chosen = new int[n];
+            int[] cursor = new int[n + 1];
+            State[] states = new State[n + 1];
+            states[0] = start;
+            Set<State> visited = new HashSet<>();
+            visited.add(start);
+            int ordinal = 0;
+            int depth = 0;
+
+            while (depth >= 0) {
+                if (depth == n) {
+                    List<Transfer> interleaving = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) {
+                        interleaving.add(path.get(chosen[i]));
+                    }
+                    if (!visitor.visit(interleaving, ordinal++)) {
+                        return;
+                    }
+                    depth = backtrack(depth, taken, chosen, states, visited);
+                    continue;
+                }
+
+                int candidate = cursor[depth];
+                State next = null;
+                for (; candidate < n; candidate++) {
+                    if (taken[candidate] || !isReady(candidate, taken)) {
+                        continue;
+                    }
+                    Transfer transfer = path.get(candidate);
+                    next = states[depth].afterTransfer(transfer.getFromContainer(), transfer.getToContainer(),
+                            transfer.getAmount());
+                    if (!visited.contains(next)) {
+                        break;
+                    }
+                }
+                if (candidate == n) {
+                    depth = backtrack(depth, taken, chosen, states, visited);
+                    continue;
+                }
+
+                cursor[depth] = candidate + 1;
+                chosen[depth] = candidate;
+                taken[candidate] = true;
+                states[depth + 1] = next;
+                visited.add(next);
+                depth++;
+                cursor[depth] = 0;
+            }
+        }
+
+        private boolean isReady(int index, boolean[] taken) {
+            int first = after[2 * index];
+            int second = after[2 * index + 1];
+            return (first < 0 || taken[first]) && (second < 0 || taken[second]);
+        }
+
+        /**
+         * Undoes the choice made one level up and returns that level.
+         */
+        private int backtrack(int depth, boolean[] taken, int[] chosen, State[] states, Set<State> visited) {
+            int level = depth - 1;
+            if (level >= 0) {
+                taken[chosen[level]] = false;
+                visited.remove(states[level + 1]);
+            }
+            return level;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.Transfer;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of solution paths stored as a prefix tree.
+ *
+ * Enumeration reports paths in depth-first order, so consecutive solutions share every
+ * transfer up to the point where the search backtracked. The builder compares each new
+ * path with the previous one and only adds the edges after their common prefix, which
+ * makes memory grow with the number of distinct edges rather than the summed path
+ * lengths. Edges are packed ints, one row per edge pointing at its parent edge.
+ *
+ * Paths returned by {@link #get(int)} are read-only views over the tree that create
+ * {@link Transfer} objects on access, so reading a solution never copies the store.
+ * Solutions that arrive out of depth-first order are still stored correctly, only with
+ * less sharing.
+ */
+public final class SolutionStore extends AbstractList<List<Transfer>> implements RandomAccess {
+    private static final int FIELDS = 6;
+    private static final int PARENT = 0;
+    private static final int DEPTH = 1;
+    private static final int FROM = 2;
+    private static final int TO = 3;
+    private static final int AMOUNT = 4;
+    private static final int WEIGHT = 5;
+    private static final int ROOT = -1;
+
+    private final int[] edges;
+    private final int[] ends;
+
+    private SolutionStore(int[] edges, int[] ends) {
+        this.edges = edges;
+        this.ends = ends;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public int size() {
+        return ends.length;
+    }
+
+    @Override
+    public List<Transfer> get(int index) {
+        return new PathView(ends[index]);
+    }
+
+    /**
+     * Returns how many transfers the store holds after sharing common prefixes.
+     */
+    public int edgeCount() {
+        return edges.length / FIELDS;
+    }
+
+    private int depthOf(int edge) {
+        return edge == ROOT ? 0 : edges[edge * FIELDS + DEPTH];
+    }
+
+    /**
+     * One stored path. The edge indices along it are resolved once, so every element
+     * lookup is constant time.
+     */
+    private final class PathView extends AbstractList<Transfer> implements RandomAccess {
+        private final int[] path;
+
+        private PathView(int end) {
+            path = new int[depthOf(end)];
+            for (int edge = end, i = path.length - 1; edge != ROOT; edge = edges[edge * FIELDS + PARENT], i--) {
+                path[i] = edge;
+            }
+        }
+
+        @Override
+        public int size() {
+            return path.length;
+        }
+
+        @Override
+        public Transfer get(int index) {
+            int offset = path[index] * FIELDS;
+            return new Transfer(edges[offset + FROM], edges[offset + TO], edges[offset + AMOUNT], edges[offset + WEIGHT]);
+        }
+    }
+
+    /**
+     * Collects solutions into a store. It is a {@link SolutionConsumer}, so enumeration can
+     * write into it directly. Not thread-safe, which the engine's serialized consumer
+     * calls do not need.
+     */
+    public static final class Builder implements SolutionConsumer {
+        private int[] edges = new int[FIELDS * 64];
+        private int edgeCount;
+        private int[] ends = new int[16];
+        private int solutionCount;
+        private int[] previous = new int[16];
+        private int previousLength;
+
+        private Builder() {
+        }
+
+        @Override
+        public boolean accept(List<Transfer> solution) {
+            int length = solution.size();
+            int shared = 0;
+            int parent = ROOT;
+            while (shared < length && shared < previousLength && matches(previous[shared], solution.get(shared))) {
+                parent = previous[shared];
+                shared++;
+            }
+
+            if (length > previous.length) {
+                previous = Arrays.copyOf(previous, Math.max(length, previous.length * 2));
+            }
+            for (int i = shared; i < length; i++) {
+                parent = addEdge(parent, i + 1, solution.get(i));
+                previous[i] = parent;
+            }
+            previousLength = length;
+
+            if (solutionCount == ends.length) {
+                ends = Arrays.copyOf(ends, ends.length * 2);
+            }
+            ends[solutionCount++] = parent;
+            return true;
+        }
+
+        public SolutionStore build() {
+            return new SolutionStore(Arrays.copyOf(edges, edgeCount * FIELDS), Arrays.copyOf(ends, solutionCount));
+        }
+
+        private boolean matches(int edge, Transfer transfer) {
+            int offset = edge * FIELDS;
+            return edges[offset + FROM] == transfer.getFromContainer()
+                    && edges[offset + TO] == transfer.getToContainer()
+                    && edges[offset + AMOUNT] == transfer.getAmount()
+                    && edges[offset + WEIGHT] == transfer.getWeight();
+        }
+
+        private int addEdge(int parent, int depth, Transfer transfer) {
+            int offset = edgeCount * FIELDS;
+            if (offset == edges.length) {
+                edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            edges[offset + PARENT] = parent;
+            edges[offset + DEPTH] = depth;
+            edges[offset + FROM] = transfer.getFromContainer();
+            edges[offset + TO] = transfer.getToContainer();
+            edges[offset + AMOUNT] = transfer.getAmount();
+            edges[offset + WEIGHT] = transfer.getWeight();
+            return edgeCount++;
+        }
+    }
+}
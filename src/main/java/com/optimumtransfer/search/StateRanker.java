@@ -0,0 +1,129 @@
+package com.optimumtransfer.search;
+
+import com.optimumtransfer.model.State;
+
+/**
+ * Perfect ranking of every state whose volumes sum to a fixed total and stay within
+ * per-container bounds.
+ *
+ * Transfers conserve total volume, so every state reachable from a start state is such
+ * a bounded composition of the start total. States are ranked in lexicographic order
+ * of their volumes. {@code prefix[i][s]} holds the number of ways to fill containers
+ * {@code i..n-1} with a total of at most {@code s}, which turns each rank into one
+ * subtraction per container.
+ */
+final class StateRanker {
+    private static final int LONG_BYTES = Long.BYTES;
+    private static final int INT_BYTES = Integer.BYTES;
+
+    private final int size;
+    private final int total;
+    private final int stride;
+    private final long[] prefix;
+    private final int stateCount;
+
+    private StateRanker(int size, int total, long[] prefix, int stateCount) {
+        this.size = size;
+        this.total = total;
+        this.stride = total + 1;
+        this.prefix = prefix;
+        this.stateCount = stateCount;
+    }
+
+    /**
+     * Builds a ranker if its tables plus one int per state fit in the budget.
+     *
+     * @return the ranker, or null if the space is too large.
+     */
+    static StateRanker create(int[] bounds, int total, long budgetBytes) {
+        int size = bounds.length;
+        if (size == 0 || total < 0) {
+            return null;
+        }
+
+        long stride = (long) total + 1;
+        long tableBytes = (size + 1L) * stride * LONG_BYTES;
+        if (tableBytes > budgetBytes || (size + 1L) * stride > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        long limit = (budgetBytes - tableBytes) / INT_BYTES;
+        long[] prefix = new long[(int) ((size + 1L) * stride)];
+        // With no containers left, only a remaining total of zero can be filled.
+        for (int s = 0; s <= total; s++) {
+            prefix[(int) (size * stride) + s] = 1;
+        }
+
+        try {
+            for (int i = size - 1; i >= 0; i--) {
+                int row = (int) (i * stride);
+                int next = (int) ((i + 1) * stride);
+                int bound = Math.min(bounds[i], total);
+                long running = 0;
+                for (int s = 0; s <= total; s++) {
+                    // Ways to fill i..n-1 with exactly s: sum of ways for i+1..n-1 with s-bound..s.
+                    int low = s - bound - 1;
+                    long exact = prefix[next + s] - (low >= 0 ? prefix[next + low] : 0);
+                    running = Math.addExact(running, exact);
+                    prefix[row + s] = running;
+                }
+            }
+        } catch (ArithmeticException overflow) {
+            return null;
+        }
+
+        long exactTotal = prefix[total] - (total > 0 ? prefix[total - 1] : 0);
+        if (exactTotal > limit || exactTotal > Integer.MAX_VALUE - 8) {
+            return null;
+        }
+        return new StateRanker(size, total, prefix, (int) exactTotal);
+    }
+
+    int stateCount() {
+        return stateCount;
+    }
+
+    /**
+     * Returns the rank of a state in the range {@code [0, stateCount())}.
+     */
+    int rank(State state) {
+        long rank = 0;
+        int remaining = total;
+        for (int i = 0; i < size - 1; i++) {
+            int volume = state.volumeAt(i);
+            rank += countWithRemainder(i + 1, remaining, volume);
+            remaining -= volume;
+        }
+        return (int) rank;
+    }
+
+    /**
+     * Returns the rank of the state reached by applying a transfer to {@code parent},
+     * without building that state.
+     */
+    int rankAfterTransfer(State parent, int from, int to, int amount) {
+        long rank = 0;
+        int remaining = total;
+        for (int i = 0; i < size - 1; i++) {
+            int volume = parent.volumeAt(i);
+            if (i == from) {
+                volume -= amount;
+            } else if (i == to) {
+                volume += amount;
+            }
+            rank += countWithRemainder(i + 1, remaining, volume);
+            remaining -= volume;
+        }
+        return (int) rank;
+    }
+
+    /**
+     * Number of completions of containers {@code i..n-1} when the previous container
+     * takes any value below {@code volume} out of {@code remaining}.
+     */
+    private long countWithRemainder(int i, int remaining, int volume) {
+        int row = i * stride;
+        int low = remaining - volume;
+        return prefix[row + remaining] - (low >= 0 ? prefix[row + low] : 0);
+    }
+}
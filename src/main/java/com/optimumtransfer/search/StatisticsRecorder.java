@@ -0,0 +1,139 @@
+package com.optimumtransfer.search;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Mutable, single-threaded counterpart of {@link SearchStatistics}. Each searching
+ * thread owns one recorder; parallel engines merge them when the workers finish.
+ * Recorders also charge their work to the call's {@link SearchBudget}, and engines ask
+ * {@link #isStopped()} before each expansion.
+ */
+final class StatisticsRecorder {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final long BUDGET_CHECK_INTERVAL = 256;
+
+    private final SearchListener listener;
+    private final long progressInterval;
+    private final SearchBudget budget;
+    private final long startWall;
+    private final long startCpu;
+    private long untilProgress;
+    private long nextBudgetCheck = 1;
+    private long chargedExpansions;
+    private long chargedStates;
+
+    private long expanded;
+    private long generated;
+    private long duplicates;
+    private long peakFrontier;
+    private long peakClosed;
+    private long wallNanos;
+    private long cpuNanos;
+    private boolean finished;
+
+    StatisticsRecorder(SearchOptions options) {
+        this(options.getSearchListener(), options.getProgressInterval(), new SearchBudget(options));
+    }
+
+    private StatisticsRecorder(SearchListener listener, long progressInterval, SearchBudget budget) {
+        this.listener = listener;
+        this.progressInterval = progressInterval;
+        this.untilProgress = progressInterval;
+        this.budget = budget;
+        this.startWall = System.nanoTime();
+        this.startCpu = threadCpuTime();
+    }
+
+    /**
+     * Returns a recorder for another worker of the same call, sharing the listener and
+     * the budget. Create it on the worker's own thread so its CPU clock is right.
+     */
+    StatisticsRecorder forWorker() {
+        return new StatisticsRecorder(listener, progressInterval, budget);
+    }
+
+    void expanded() {
+        expanded++;
+        if (expanded >= nextBudgetCheck) {
+            long allowance = budget.charge(expanded - chargedExpansions, peakClosed - chargedStates);
+            chargedExpansions = expanded;
+            chargedStates = peakClosed;
+            nextBudgetCheck = expanded + Math.max(1, Math.min(BUDGET_CHECK_INTERVAL, allowance));
+        }
+        if (listener != null && --untilProgress == 0) {
+            untilProgress = progressInterval;
+            listener.onProgress(snapshot());
+        }
+    }
+
+    void generated() {
+        generated++;
+    }
+
+    void duplicate() {
+        duplicates++;
+    }
+
+    void frontier(long size) {
+        if (size > peakFrontier) {
+            peakFrontier = size;
+        }
+    }
+
+    void closed(long size) {
+        if (size > peakClosed) {
+            peakClosed = size;
+            budget.checkStates(size);
+        }
+    }
+
+    /**
+     * Returns whether a limit of this call has run out; engines should stop expanding.
+     */
+    boolean isStopped() {
+        return budget.isStopped();
+    }
+
+    /**
+     * Returns the limit that stopped this call, or null if none did.
+     */
+    SearchStatus getStopReason() {
+        return budget.getStopReason();
+    }
+
+    /**
+     * Stops the clocks for this thread's share of the work.
+     */
+    StatisticsRecorder finish() {
+        if (!finished) {
+            finished = true;
+            wallNanos = System.nanoTime() - startWall;
+            cpuNanos += threadCpuTime() - startCpu;
+        }
+        return this;
+    }
+
+    /**
+     * Adds a finished worker's counters. Peaks add up because workers hold their
+     * frontiers and tables at the same time; the wall clock stays this recorder's own.
+     */
+    void merge(StatisticsRecorder worker) {
+        expanded += worker.expanded;
+        generated += worker.generated;
+        duplicates += worker.duplicates;
+        peakFrontier += worker.peakFrontier;
+        peakClosed += worker.peakClosed;
+        cpuNanos += worker.cpuNanos;
+    }
+
+    SearchStatistics snapshot() {
+        long wall = finished ? wallNanos : System.nanoTime() - startWall;
+        long cpu = finished ? cpuNanos : cpuNanos + threadCpuTime() - startCpu;
+        return new SearchStatistics(expanded, generated, duplicates, peakFrontier, peakClosed, wall, cpu);
+    }
+
+    private static long threadCpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+}
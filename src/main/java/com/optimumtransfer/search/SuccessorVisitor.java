@@ -0,0 +1,17 @@
+package com.optimumtransfer.search;
+
+/**
+ * Receives the legal transfers out of a state as primitives, so move generation can
+ * run without building a successor State or Transfer for every candidate.
+ */
+@FunctionalInterface
+public interface SuccessorVisitor {
+
+    /**
+     * @param from Index of the source container.
+     * @param to Index of the target container.
+     * @param amount Amount of volume the transfer would move.
+     * @param weight Cost of the transfer.
+     */
+    void visit(int from, int to, int amount, int weight);
+}
@@ -1,12 +1,23 @@
 package com.optimumtransfer.tests;
 
+import com.optimumtransfer.constraints.AmountConstraint;
+import com.optimumtransfer.constraints.RouteConstraint;
 import com.optimumtransfer.constraints.TransferConstraint;
+import com.optimumtransfer.constraints.TransferConstraints;
+import com.optimumtransfer.goals.EvenDistributionGoal;
 import com.optimumtransfer.goals.ExactMatchGoal;
 import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.goals.SingleContainerGoal;
 import com.optimumtransfer.model.State;
 import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.model.TransferTopology;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
 import com.optimumtransfer.search.AStar;
+import com.optimumtransfer.search.OpenListType;
+import com.optimumtransfer.search.SearchOptions;
+import com.optimumtransfer.search.SearchStatistics;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class AStarTest implements TestCase {
@@ -35,9 +46,173 @@ public class AStarTest implements TestCase {
 
         TestSupport.assertTrue(constrainedPath != null, "Solver should still find an alternative path when the direct move is blocked.");
         TestSupport.assertEquals(2, constrainedPath.size(), "Constraint should force the two-step path.");
+        TestSupport.assertEquals(1, constrainedPath.get(0).getToContainer(), "Rebuilt path should keep the first transfer first.");
+        TestSupport.assertEquals(1, constrainedPath.get(1).getFromContainer(), "Rebuilt path should end with the transfer that reached the goal.");
+
+        AStar routeSolver = new AStar(capacities, List.of(TransferConstraints.blockRoute(0, 2), TransferConstraints.maxTransfer(2)));
+        List<Transfer> routePath = routeSolver.solve(start, goal);
+        TestSupport.assertTrue(routePath != null && routePath.size() == 2, "Static route constraints should be folded into the route table.");
+        TestSupport.assertTrue(TransferConstraints.blockReceiver(1) instanceof RouteConstraint, "Route-only constraints should be declared static.");
+        TestSupport.assertTrue(!TransferConstraints.blockReceiver(1).isAllowed(start, 0, 1, 2), "Static constraints should still answer per-move checks.");
+
+        int[] generated = new int[2];
+        solver.forEachSuccessor(start, (from, to, amount, weight) -> {
+            generated[0]++;
+            generated[1] += amount;
+        });
+        TestSupport.assertEquals(2, generated[0], "Successor visitor should report each legal transfer once.");
+        TestSupport.assertEquals(4, generated[1], "Successor visitor should report transfer amounts as primitives.");
 
         List<List<Transfer>> allSolutions = solver.findAllSolutions(start, goal, 2);
         TestSupport.assertEquals(2, allSolutions.size(), "All-solution search should keep distinct valid paths instead of pruning them globally.");
+
+        int[] jugCapacities = {8, 5, 3};
+        State jugStart = new State(new int[]{8, 0, 0});
+        GoalCondition jugGoal = new ExactMatchGoal(new int[]{4, 4, 0});
+        List<Transfer> heapPath = new AStar(jugCapacities).solve(jugStart, jugGoal);
+        AStar bucketSolver = new AStar(jugCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withOpenListType(OpenListType.BUCKET_QUEUE));
+        List<Transfer> bucketPath = bucketSolver.solve(jugStart, jugGoal);
+        TestSupport.assertTrue(heapPath != null && bucketPath != null, "Both open lists should solve the three-jug puzzle.");
+        TestSupport.assertEquals(TestSupport.pathCost(heapPath), TestSupport.pathCost(bucketPath), "Bucket queue should return a path with the same optimal cost as the heap.");
+
+        AStar hashedSolver = new AStar(jugCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withDenseTableBudgetBytes(0));
+        AStar parallelSolver = new AStar(jugCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withParallelism(4));
+        AStar untabledSolver = new AStar(jugCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withTranspositionTableEntries(0));
+        for (int volume = 0; volume <= 8; volume++) {
+            GoalCondition volumeGoal = new SingleContainerGoal(0, volume);
+            List<Transfer> densePath = new AStar(jugCapacities).solve(jugStart, volumeGoal);
+            List<Transfer> hashedPath = hashedSolver.solve(jugStart, volumeGoal);
+            List<Transfer> parallelPath = parallelSolver.solve(jugStart, volumeGoal);
+            List<Transfer> deepeningPath = hashedSolver.solveIterativeDeepening(jugStart, volumeGoal);
+            List<Transfer> untabledPath = untabledSolver.solveIterativeDeepening(jugStart, volumeGoal);
+            TestSupport.assertTrue((densePath == null) == (deepeningPath == null) && (densePath == null) == (untabledPath == null),
+                    "IDA* should agree with A* on reachability.");
+            TestSupport.assertTrue((densePath == null) == (hashedPath == null), "Dense and hashed cost tables should agree on reachability.");
+            TestSupport.assertTrue((densePath == null) == (parallelPath == null), "Parallel search should agree with sequential search on reachability.");
+            if (densePath != null) {
+                TestSupport.assertEquals(TestSupport.pathCost(hashedPath), TestSupport.pathCost(densePath), "Dense and hashed cost tables should agree on optimal cost.");
+                TestSupport.assertEquals(TestSupport.pathCost(densePath), TestSupport.pathCost(parallelPath), "Parallel search should still return an optimal path.");
+                TestSupport.assertEquals(TestSupport.pathCost(densePath), TestSupport.pathCost(deepeningPath), "IDA* should return an optimal path.");
+                TestSupport.assertEquals(TestSupport.pathCost(densePath), TestSupport.pathCost(untabledPath), "IDA* should stay optimal without a transposition table.");
+            }
+        }
+
+        int[] wideCapacities = {208, 128, 80, 48, 33};
+        State wideStart = new State(new int[]{208, 0, 0, 0, 0});
+        GoalCondition wideGoal = new SingleContainerGoal(1, 128);
+        List<Transfer> pagedPath = new AStar(wideCapacities).solve(wideStart, wideGoal);
+        List<Transfer> wideHashedPath = new AStar(wideCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withDenseTableBudgetBytes(0)).solve(wideStart, wideGoal);
+        TestSupport.assertTrue(pagedPath != null && wideHashedPath != null, "Both cost tables should solve the wide layout.");
+        TestSupport.assertEquals(TestSupport.pathCost(wideHashedPath), TestSupport.pathCost(pagedPath),
+                "A dense table spread over many pages should agree with the hashed table on optimal cost.");
+
+        List<TransferConstraint> bidirectionalConstraints = List.of(TransferConstraints.blockRoute(2, 0),
+                TransferConstraints.maxTransfer(4));
+        AStar forwardSolver = new AStar(jugCapacities, bidirectionalConstraints);
+        for (int a = 0; a <= 8; a++) {
+            for (int b = 0; b <= 5 && a + b <= 8; b++) {
+                int[] target = {a, b, 8 - a - b};
+                if (target[2] > 3) {
+                    continue;
+                }
+                List<Transfer> forwardPath = forwardSolver.solve(jugStart, new ExactMatchGoal(target));
+                List<Transfer> meetingPath = forwardSolver.solveBidirectional(jugStart, target);
+                TestSupport.assertTrue((forwardPath == null) == (meetingPath == null),
+                        "Bidirectional search should agree with forward search on reachability.");
+                if (forwardPath != null) {
+                    TestSupport.assertEquals(TestSupport.pathCost(forwardPath), TestSupport.pathCost(meetingPath),
+                            "Bidirectional search should return an optimal path.");
+                    TestSupport.assertArrayEquals(target, TestSupport.replayPath(jugCapacities, jugStart, meetingPath),
+                            "Bidirectional path should replay from the start to the target.");
+                }
+            }
+        }
+        TestSupport.assertTrue(forwardSolver.solveBidirectional(jugStart, new int[]{4, 4, 1}) == null,
+                "Targets with a different total volume should be unreachable.");
+
+        int[][] symmetricCapacities = {{8, 2, 2, 2}, {9, 4, 4, 4}, {9, 4, 4, 4}};
+        int[][] symmetricStarts = {{8, 0, 0, 0}, {9, 0, 0, 0}, {9, 0, 0, 0}};
+        GoalCondition[] symmetricGoals = {new EvenDistributionGoal(), new SingleContainerGoal(3, 1),
+                new ExactMatchGoal(new int[]{1, 4, 0, 4})};
+        for (int c = 0; c < symmetricGoals.length; c++) {
+            GoalCondition symmetricGoal = symmetricGoals[c];
+            State symmetricStart = new State(symmetricStarts[c]);
+            int[] layout = symmetricCapacities[c];
+            int[] checkedMoves = new int[2];
+            AmountConstraint countReduced = amount -> ++checkedMoves[0] > 0;
+            AmountConstraint countFull = amount -> ++checkedMoves[1] > 0;
+            List<Transfer> reducedPath = new AStar(layout, List.of(countReduced)).solve(symmetricStart, symmetricGoal);
+            List<Transfer> fullPath = new AStar(layout, List.of(countFull), new ZeroHeuristic(),
+                    SearchOptions.defaults().withSymmetryReduction(false)).solve(symmetricStart, symmetricGoal);
+            TestSupport.assertTrue(reducedPath != null && fullPath != null, "Both searches should solve the symmetric layout.");
+            TestSupport.assertEquals(TestSupport.pathCost(fullPath), TestSupport.pathCost(reducedPath), "Symmetry reduction should keep the optimal cost.");
+            TestSupport.assertTrue(symmetricGoal.isSatisfied(new State(TestSupport.replayPath(layout, symmetricStart, reducedPath))),
+                    "Canonical plans should map back to concrete containers that reach the goal.");
+            TestSupport.assertTrue(checkedMoves[0] < checkedMoves[1], "Symmetry reduction should explore fewer moves.");
+        }
+
+        int chainLength = 120;
+        int[] chainCapacities = new int[chainLength];
+        int[] chainStart = new int[chainLength];
+        List<int[]> chainEdges = new ArrayList<int[]>();
+        for (int i = 0; i < chainLength; i++) {
+            chainCapacities[i] = 1;
+            if (i + 1 < chainLength) {
+                chainEdges.add(new int[]{i, i + 1});
+            }
+        }
+        chainStart[0] = 1;
+        TransferTopology chain = TransferTopology.of(chainLength, chainEdges);
+        AStar chainSolver = new AStar(chainCapacities, chain, List.of(), new ZeroHeuristic(), SearchOptions.defaults());
+        List<Transfer> chainPath = chainSolver.solve(new State(chainStart), new SingleContainerGoal(chainLength - 1, 1));
+        TestSupport.assertTrue(chainPath != null, "Sparse topology should still reach the end of the chain.");
+        TestSupport.assertEquals(chainLength - 1, chainPath.size(), "Chain topology should only allow neighbouring transfers.");
+        TestSupport.assertTrue(!chain.hasEdge(1, 0) && chain.hasEdge(0, 1), "Topology edges should be directed.");
+
+        AStar parallelChainSolver = new AStar(chainCapacities, chain, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withParallelism(3));
+        List<Transfer> parallelChainPath = parallelChainSolver.solve(new State(chainStart), new SingleContainerGoal(chainLength - 1, 1));
+        TestSupport.assertTrue(parallelChainPath != null && parallelChainPath.size() == chainLength - 1,
+                "Parallel search should hand states between workers along a long chain.");
+
+        int deepLength = 3000;
+        int[] deepCapacities = new int[deepLength];
+        int[] deepStart = new int[deepLength];
+        List<int[]> deepEdges = new ArrayList<int[]>();
+        for (int i = 0; i < deepLength; i++) {
+            deepCapacities[i] = 1;
+            if (i + 1 < deepLength) {
+                deepEdges.add(new int[]{i, i + 1});
+            }
+        }
+        deepStart[0] = 1;
+        AStar deepSolver = new AStar(deepCapacities, TransferTopology.of(deepLength, deepEdges), List.of(),
+                new ZeroHeuristic(), SearchOptions.defaults());
+        List<List<Transfer>> deepPaths = deepSolver.findAllPaths(new State(deepStart), new SingleContainerGoal(deepLength - 1, 1));
+        TestSupport.assertTrue(deepPaths.size() == 1 && deepPaths.get(0).size() == deepLength - 1,
+                "Unbounded enumeration should follow very long paths without recursing.");
+
+        List<SearchStatistics> progress = new ArrayList<>();
+        AStar observedSolver = new AStar(jugCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withSearchListener(progress::add).withProgressInterval(2));
+        SearchStatistics solveStatistics = observedSolver.searchShortest(jugStart, jugGoal).getStatistics();
+        TestSupport.assertTrue(solveStatistics.getExpandedNodes() > 0 && solveStatistics.getGeneratedNodes() > 0,
+                "A* should count expanded and generated nodes.");
+        TestSupport.assertTrue(solveStatistics.getPeakFrontierSize() > 0 && solveStatistics.getPeakClosedSize() > 0,
+                "A* should track its peak frontier and cost table sizes.");
+        TestSupport.assertEquals((int) (solveStatistics.getExpandedNodes() / 2), progress.size(),
+                "The listener should fire once per progress interval.");
+        TestSupport.assertTrue(observedSolver.searchIterativeDeepening(jugStart, jugGoal).getStatistics().getExpandedNodes() > 0,
+                "IDA* should count expanded nodes.");
+        TestSupport.assertTrue(parallelSolver.searchShortest(jugStart, jugGoal).getStatistics().getExpandedNodes() > 0,
+                "Parallel workers should merge their counters.");
+        TestSupport.assertTrue(parallelSolver.searchAllSolutions(jugStart, new SingleContainerGoal(1, 4), 9, Integer.MAX_VALUE)
+                        .getStatistics().getExpandedNodes() > 0,
+                "Parallel enumeration should merge the counters of forked subtrees.");
     }
 }
-
@@ -0,0 +1,51 @@
+package com.optimumtransfer.tests;
+
+import com.optimumtransfer.goals.ExactMatchGoal;
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.heuristics.SingleContainerHeuristic;
+import com.optimumtransfer.search.AStar;
+import com.optimumtransfer.search.AnytimeSolution;
+import com.optimumtransfer.search.SearchOptions;
+import com.optimumtransfer.search.SearchOutcome;
+import com.optimumtransfer.search.SearchStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AnytimeSearchTest implements TestCase {
+    @Override
+    public String name() {
+        return "Anytime search publishes improving plans and ends with the optimal one";
+    }
+
+    @Override
+    public void run() {
+        int[] jugCapacities = {8, 5, 3};
+        State jugStart = new State(new int[]{8, 0, 0});
+        GoalCondition jugGoal = new ExactMatchGoal(new int[]{4, 4, 0});
+
+        List<AnytimeSolution> published = new ArrayList<>();
+        AStar anytimeSolver = new AStar(jugCapacities, List.of(), new SingleContainerHeuristic(1, 4),
+                SearchOptions.defaults().withAnytimeListener(published::add).withAnytimeInitialWeight(5));
+        SearchOutcome<List<AnytimeSolution>> anytime = anytimeSolver.searchAnytime(jugStart, jugGoal);
+        List<AnytimeSolution> plans = anytime.getValue();
+        TestSupport.assertTrue(!plans.isEmpty() && plans.equals(published), "Every anytime plan should reach the listener in order.");
+        for (int i = 1; i < plans.size(); i++) {
+            TestSupport.assertTrue(plans.get(i).getCost() <= plans.get(i - 1).getCost()
+                            && plans.get(i).getSuboptimalityBound() <= plans.get(i - 1).getSuboptimalityBound(),
+                    "Anytime plans should only get cheaper or better bounded.");
+        }
+        AnytimeSolution finalPlan = plans.get(plans.size() - 1);
+        TestSupport.assertTrue(finalPlan.isProvenOptimal() && anytime.getStatus() == SearchStatus.SOLVED,
+                "An unlimited anytime run should end with a proven optimal plan.");
+        TestSupport.assertEquals(TestSupport.pathCost(new AStar(jugCapacities).solve(jugStart, jugGoal)), finalPlan.getCost(),
+                "The final anytime plan should cost as much as the A* answer.");
+        TestSupport.assertEquals(4, TestSupport.replayPath(jugCapacities, jugStart, finalPlan.getPath())[1],
+                "The final anytime plan should reach the goal.");
+        AStar stoppedAnytimeSolver = new AStar(jugCapacities, List.of(), new SingleContainerHeuristic(1, 4),
+                SearchOptions.defaults().withMaxExpansions(2));
+        TestSupport.assertTrue(stoppedAnytimeSolver.searchAnytime(jugStart, jugGoal).getStatus() == SearchStatus.BUDGET_EXCEEDED,
+                "The expansion budget should stop the anytime search.");
+    }
+}
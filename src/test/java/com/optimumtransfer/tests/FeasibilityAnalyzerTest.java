@@ -0,0 +1,74 @@
+package com.optimumtransfer.tests;
+
+import com.optimumtransfer.application.FeasibilityAnalyzer;
+import com.optimumtransfer.application.SolveMode;
+import com.optimumtransfer.application.SolverRequest;
+import com.optimumtransfer.application.SolverResult;
+import com.optimumtransfer.application.SolverService;
+import com.optimumtransfer.constraints.TransferConstraint;
+import com.optimumtransfer.constraints.TransferConstraints;
+import com.optimumtransfer.goals.ExactMatchGoal;
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.goals.SingleContainerGoal;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.model.Transfer;
+
+import java.util.List;
+
+public class FeasibilityAnalyzerTest implements TestCase {
+    @Override
+    public String name() {
+        return "Feasibility analyzer rejects impossible goals and rescales shared divisors";
+    }
+
+    @Override
+    public void run() {
+        FeasibilityAnalyzer analyzer = new FeasibilityAnalyzer();
+
+        TestSupport.assertTrue(analyzer.findInfeasibility(request(new int[]{8, 5, 3}, new int[]{8, 0, 0},
+                new ExactMatchGoal(new int[]{4, 4, 1}), List.of())) != null, "A target with a different total should be rejected.");
+        TestSupport.assertTrue(analyzer.findInfeasibility(request(new int[]{6, 4, 2}, new int[]{6, 0, 0},
+                new ExactMatchGoal(new int[]{3, 3, 0}), List.of())) != null, "Odd volumes should be rejected when every capacity is even.");
+        TestSupport.assertTrue(analyzer.findInfeasibility(request(new int[]{8, 5, 3}, new int[]{8, 0, 0},
+                new ExactMatchGoal(new int[]{2, 6, 0}), List.of())) != null, "Volumes above a container's capacity should be rejected.");
+        TestSupport.assertTrue(analyzer.findInfeasibility(request(new int[]{8, 5, 3}, new int[]{8, 0, 0},
+                new SingleContainerGoal(2, 4), List.of())) != null, "A single container goal above capacity should be rejected.");
+
+        List<TransferConstraint> oneWay = List.of(TransferConstraints.blockRoute(1, 0), TransferConstraints.blockRoute(2, 0));
+        TestSupport.assertTrue(analyzer.findInfeasibility(request(new int[]{8, 5, 3}, new int[]{3, 5, 0},
+                new ExactMatchGoal(new int[]{4, 4, 0}), oneWay)) != null, "Containers no route feeds should never gain volume.");
+        TestSupport.assertTrue(analyzer.findInfeasibility(request(new int[]{8, 5, 3}, new int[]{8, 0, 0},
+                new ExactMatchGoal(new int[]{4, 4, 0}), List.of())) == null, "The classic jug puzzle should not be rejected.");
+
+        SolverRequest scaledRequest = request(new int[]{16, 10, 6}, new int[]{16, 0, 0},
+                new ExactMatchGoal(new int[]{8, 8, 0}), List.of(TransferConstraints.blockRoute(2, 1)));
+        TestSupport.assertEquals(2, analyzer.scaleFactor(scaledRequest), "Shared divisors should be detected.");
+        TestSupport.assertEquals(1, analyzer.scaleFactor(request(new int[]{16, 10, 6}, new int[]{16, 0, 0},
+                new ExactMatchGoal(new int[]{8, 8, 0}), List.of(TransferConstraints.maxTransfer(4)))),
+                "Amount-dependent constraints should keep the original scale.");
+
+        SolverService service = new SolverService();
+        SolverResult scaledResult = service.solve(scaledRequest);
+        SolverResult plainResult = service.solve(request(new int[]{8, 5, 3}, new int[]{8, 0, 0},
+                new ExactMatchGoal(new int[]{4, 4, 0}), List.of(TransferConstraints.blockRoute(2, 1))));
+        TestSupport.assertTrue(scaledResult.hasShortestSolution() && plainResult.hasShortestSolution(),
+                "Both scaled and unscaled puzzles should be solved.");
+        TestSupport.assertEquals(plainResult.getShortestSolution().size(), scaledResult.getShortestSolution().size(),
+                "Rescaling should not change the number of transfers.");
+        for (Transfer transfer : scaledResult.getShortestSolution()) {
+            TestSupport.assertEquals(0, transfer.getAmount() % 2, "Rescaled paths should be mapped back to original volumes.");
+        }
+        TestSupport.assertArrayEquals(new int[]{16, 10, 6}, scaledResult.getCapacities(), "Results should report the original capacities.");
+        SolverResult rejected = service.solve(request(new int[]{6, 4, 2}, new int[]{6, 0, 0},
+                new ExactMatchGoal(new int[]{3, 3, 0}), List.of()));
+        TestSupport.assertTrue(!rejected.hasShortestSolution(), "Service should return no path for rejected goals.");
+        TestSupport.assertTrue(rejected.getInfeasibilityReason() != null && rejected.getStatistics().getExpandedNodes() == 0,
+                "Rejected goals should say why, without searching.");
+        TestSupport.assertTrue(scaledResult.getInfeasibilityReason() == null, "Searched requests should carry no rejection reason.");
+    }
+
+    private static SolverRequest request(int[] capacities, int[] start, GoalCondition goal, List<TransferConstraint> constraints) {
+        return new SolverRequest(capacities, start, goal, constraints, new ZeroHeuristic(), SolveMode.SHORTEST_PATH,
+                SolverRequest.UNBOUNDED_DEPTH);
+    }
+}
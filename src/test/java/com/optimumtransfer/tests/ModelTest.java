@@ -25,6 +25,13 @@ public class ModelTest implements TestCase {
         int[] returned = state.getVolumes();
         returned[1] = 88;
         TestSupport.assertArrayEquals(new int[]{3, 1, 0}, state.getVolumes(), "State should not expose internal array.");
+        TestSupport.assertEquals(3, state.size(), "State should report its container count.");
+        TestSupport.assertEquals(1, state.volumeAt(1), "State should read single volumes without copying.");
+        TestSupport.assertEquals(4, state.sum(), "State should report its total volume.");
+        TestSupport.assertEquals(3, state.asList().get(0), "State list view should reflect volumes.");
+        TestSupport.assertThrows(UnsupportedOperationException.class, () -> state.asList().set(0, 9), "State list view should be read-only.");
+        TestSupport.assertArrayEquals(new int[]{1, 1, 2}, state.afterTransfer(0, 2, 2).getVolumes(), "Applying a transfer should move volume between containers.");
+        TestSupport.assertArrayEquals(new int[]{3, 1, 0}, state.getVolumes(), "Applying a transfer should not modify the original state.");
 
         Container container = new Container(5, 2);
         container.setCurrentVol(4);
@@ -0,0 +1,71 @@
+package com.optimumtransfer.tests;
+
+import com.optimumtransfer.goals.ExactMatchGoal;
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.goals.SingleContainerGoal;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.heuristics.SingleContainerHeuristic;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.search.AStar;
+import com.optimumtransfer.search.CancellationToken;
+import com.optimumtransfer.search.SearchOptions;
+import com.optimumtransfer.search.SearchOutcome;
+import com.optimumtransfer.search.SearchStatus;
+
+import java.time.Duration;
+import java.util.List;
+
+public class SearchBudgetTest implements TestCase {
+    @Override
+    public String name() {
+        return "Searches stop at budgets, deadlines and cancellation";
+    }
+
+    @Override
+    public void run() {
+        int[] jugCapacities = {8, 5, 3};
+        State jugStart = new State(new int[]{8, 0, 0});
+        GoalCondition jugGoal = new ExactMatchGoal(new int[]{4, 4, 0});
+
+        SearchOutcome<List<Transfer>> unlimited = new AStar(jugCapacities).searchShortest(jugStart, jugGoal);
+        TestSupport.assertTrue(unlimited.getValue() != null && unlimited.getStatus() == SearchStatus.SOLVED,
+                "Unlimited searches should report SOLVED.");
+        AStar budgetSolver = new AStar(jugCapacities, List.of(), new SingleContainerHeuristic(1, 4),
+                SearchOptions.defaults().withMaxExpansions(5));
+        SearchOutcome<List<Transfer>> budgeted = budgetSolver.searchShortest(jugStart, jugGoal);
+        TestSupport.assertTrue(budgeted.getValue() == null, "A stopped search should not return a path.");
+        TestSupport.assertTrue(budgeted.getStatus() == SearchStatus.BUDGET_EXCEEDED, "The expansion budget should stop A*.");
+        TestSupport.assertTrue(budgeted.getStatistics().getExpandedNodes() == 5, "A* should expand exactly the budgeted nodes.");
+        List<Transfer> partialPath = budgeted.getPartialPath();
+        TestSupport.replayPath(jugCapacities, jugStart, partialPath);
+        TestSupport.assertTrue(!partialPath.isEmpty(), "A stopped A* should return the path to its most promising state.");
+        TestSupport.assertTrue(budgetSolver.searchAllSolutions(jugStart, new SingleContainerGoal(1, 4), 9, Integer.MAX_VALUE).getStatus() == SearchStatus.BUDGET_EXCEEDED,
+                "The expansion budget should stop enumeration.");
+        TestSupport.assertTrue(budgetSolver.searchIterativeDeepening(jugStart, jugGoal).getStatus() == SearchStatus.BUDGET_EXCEEDED,
+                "The expansion budget should stop IDA*.");
+        TestSupport.assertTrue(budgetSolver.searchBidirectional(jugStart, new int[]{4, 4, 0}).getStatus() == SearchStatus.BUDGET_EXCEEDED,
+                "The expansion budget should stop bidirectional search.");
+
+        AStar parallelBudgetSolver = new AStar(jugCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withParallelism(4).withMaxStates(4));
+        SearchOutcome<List<Transfer>> parallelBudgeted = parallelBudgetSolver.searchShortest(jugStart, jugGoal);
+        TestSupport.assertTrue(parallelBudgeted.getValue() == null && parallelBudgeted.getStatus() == SearchStatus.BUDGET_EXCEEDED,
+                "The state budget should stop every parallel worker.");
+
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        AStar cancelledSolver = new AStar(jugCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withCancellationToken(token));
+        SearchOutcome<List<Transfer>> cancelled = cancelledSolver.searchShortest(jugStart, jugGoal);
+        TestSupport.assertTrue(cancelled.getStatus() == SearchStatus.CANCELLED, "A cancelled token should stop the search.");
+        TestSupport.assertTrue(cancelled.getStatistics().getExpandedNodes() == 1, "Cancellation should be noticed at the first expansion.");
+        AStar timedSolver = new AStar(jugCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withTimeLimit(Duration.ofNanos(1)));
+        TestSupport.assertTrue(timedSolver.searchShortest(jugStart, jugGoal).getStatus() == SearchStatus.TIMED_OUT,
+                "An expired time limit should stop the search.");
+        SearchOutcome<List<Transfer>> immediate = timedSolver.searchShortest(jugStart, new SingleContainerGoal(0, 8));
+        TestSupport.assertTrue(immediate.getValue() != null && immediate.getStatus() == SearchStatus.SOLVED,
+                "A goal at the start needs no expansion and still solves.");
+    }
+}
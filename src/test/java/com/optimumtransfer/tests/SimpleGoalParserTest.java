@@ -24,6 +24,18 @@ public class SimpleGoalParserTest implements TestCase {
         TestSupport.assertTrue(conjunctionGoal.isSatisfied(state), "Parser should evaluate all conjunction parts, not just the first two.");
 
         TestSupport.assertThrows(IllegalArgumentException.class, () -> SimpleGoalParser.parse("v[4] == 1", 3).isSatisfied(state), "Parser should reject invalid container indexes.");
+
+        GoalCondition movedTermsGoal = SimpleGoalParser.parse("v[0] + 1 == v[1] + 3", 3);
+        TestSupport.assertTrue(movedTermsGoal.isSatisfied(state), "Parser should compare container terms and constants on both sides.");
+        TestSupport.assertTrue(!SimpleGoalParser.parse("v[0] + 2 == v[1] + 3", 3).isSatisfied(state), "Compiled comparisons should still reject unequal sides.");
+
+        TestSupport.assertTrue(SimpleGoalParser.parse("v[0] > 3", 3).isSatisfied(state), "Parser should support strict greater-than.");
+        TestSupport.assertTrue(!SimpleGoalParser.parse("v[0] < 4", 3).isSatisfied(state), "Parser should support strict less-than.");
+        TestSupport.assertTrue(SimpleGoalParser.parse("v[2] != 1", 3).isSatisfied(state), "Parser should support inequality.");
+        TestSupport.assertTrue(SimpleGoalParser.parse("v[0] == 9 || v[1] == 2", 3).isSatisfied(state), "Parser should support disjunctions.");
+        TestSupport.assertTrue(SimpleGoalParser.parse("v[1] == 2 || v[0] == 9 && v[2] == 1", 3).isSatisfied(state), "Conjunctions should bind tighter than disjunctions.");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> SimpleGoalParser.parse("v[0] == 1 == 1", 3), "Parser should reject chained comparisons.");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> SimpleGoalParser.parse("v[0] + 1", 3), "Parser should reject expressions without a comparison.");
     }
 }
 
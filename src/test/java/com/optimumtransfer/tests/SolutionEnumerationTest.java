@@ -0,0 +1,167 @@
+package com.optimumtransfer.tests;
+
+import com.optimumtransfer.constraints.TransferConstraint;
+import com.optimumtransfer.constraints.TransferConstraints;
+import com.optimumtransfer.goals.ExactMatchGoal;
+import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.goals.SingleContainerGoal;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.search.AStar;
+import com.optimumtransfer.search.PartialOrderReduction;
+import com.optimumtransfer.search.SearchOptions;
+import com.optimumtransfer.search.SearchOutcome;
+import com.optimumtransfer.search.SearchStatus;
+import com.optimumtransfer.search.SolutionStore;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SolutionEnumerationTest implements TestCase {
+    @Override
+    public String name() {
+        return "Solution enumeration and counting agree across search options";
+    }
+
+    @Override
+    public void run() {
+        int[] enumCapacities = {8, 5, 3};
+        State enumStart = new State(new int[]{8, 0, 0});
+        GoalCondition enumGoal = new SingleContainerGoal(1, 4);
+        AStar sequentialEnumerator = new AStar(enumCapacities);
+        AStar orderedEnumerator = new AStar(enumCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withParallelism(4).withDeterministicOrder(true));
+        AStar unorderedEnumerator = new AStar(enumCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withParallelism(4));
+        List<List<Transfer>> sequentialAll = sequentialEnumerator.findAllSolutions(enumStart, enumGoal, 9);
+        TestSupport.assertTrue(sequentialAll.size() > 5, "Jug enumeration should have several solutions to compare.");
+        TestSupport.assertTrue(sequentialAll.toString().equals(orderedEnumerator.findAllSolutions(enumStart, enumGoal, 9).toString()),
+                "Deterministic parallel enumeration should match the sequential solutions and order.");
+        TestSupport.assertTrue(sequentialAll.subList(0, 5).toString().equals(orderedEnumerator.findAllSolutions(enumStart, enumGoal, 9, 5).toString()),
+                "Deterministic parallel enumeration should keep the first solutions in depth-first order.");
+        TestSupport.assertEquals(sequentialAll.size(), unorderedEnumerator.findAllSolutions(enumStart, enumGoal, 9).size(),
+                "Unordered parallel enumeration should find the same number of solutions.");
+        TestSupport.assertEquals(5, unorderedEnumerator.findAllSolutions(enumStart, enumGoal, 9, 5).size(),
+                "Unordered parallel enumeration should stop at the global solution limit.");
+        List<List<Transfer>> streamedSolutions = new ArrayList<>();
+        long streamedCount = sequentialEnumerator.findAllSolutions(enumStart, enumGoal, 9, Integer.MAX_VALUE, solution -> {
+            streamedSolutions.add(solution);
+            return streamedSolutions.size() < 3;
+        });
+        TestSupport.assertTrue(streamedCount == 3 && streamedSolutions.toString().equals(sequentialAll.subList(0, 3).toString()),
+                "A consumer that returns false should stop enumeration after the solutions it took.");
+        List<List<Transfer>> orderedStream = new ArrayList<>();
+        orderedEnumerator.findAllSolutions(enumStart, enumGoal, 9, Integer.MAX_VALUE, orderedStream::add);
+        TestSupport.assertTrue(orderedStream.toString().equals(sequentialAll.toString()),
+                "Deterministic parallel enumeration should stream solutions in depth-first order.");
+        TestSupport.assertTrue(sequentialAll instanceof SolutionStore, "Collected solutions should be kept in a shared-prefix store.");
+        int totalSteps = sequentialAll.stream().mapToInt(List::size).sum();
+        TestSupport.assertTrue(((SolutionStore) sequentialAll).edgeCount() < totalSteps,
+                "Depth-first solutions should share their common prefixes.");
+        SolutionStore.Builder rebuilt = SolutionStore.builder();
+        for (int i = streamedSolutions.size() - 1; i >= 0; i--) {
+            rebuilt.accept(streamedSolutions.get(i));
+        }
+        rebuilt.accept(List.of());
+        SolutionStore reversed = rebuilt.build();
+        TestSupport.assertTrue(reversed.get(0).toString().equals(streamedSolutions.get(2).toString())
+                        && reversed.get(2).toString().equals(streamedSolutions.get(0).toString())
+                        && reversed.get(3).isEmpty(),
+                "The store should keep paths that arrive out of depth-first order, and empty paths.");
+        TestSupport.assertThrows(UnsupportedOperationException.class, () -> sequentialAll.get(0).add(new Transfer(0, 1, 1, 1)),
+                "Stored paths should be read-only views.");
+
+        int[] pairCapacities = {3, 3, 3, 3};
+        State pairStart = new State(new int[]{3, 0, 3, 0});
+        GoalCondition pairGoal = new ExactMatchGoal(new int[]{0, 3, 0, 3});
+        List<TransferConstraint> pairRoutes = List.of(TransferConstraints.blockRoute(0, 3), TransferConstraints.blockRoute(2, 1));
+        AStar canonicalSolver = new AStar(pairCapacities, pairRoutes, new ZeroHeuristic(),
+                SearchOptions.defaults().withPartialOrderReduction(PartialOrderReduction.CANONICAL));
+        List<List<Transfer>> canonicalPlans = canonicalSolver.findAllSolutions(pairStart, pairGoal, 2);
+        TestSupport.assertEquals(1, canonicalPlans.size(), "Commuting transfers should be enumerated in one order only.");
+        TestSupport.assertEquals(0, canonicalPlans.get(0).get(0).getFromContainer(), "The canonical order should follow successor order.");
+        TestSupport.assertEquals(2, new AStar(pairCapacities, pairRoutes).findAllSolutions(pairStart, pairGoal, 2).size(),
+                "Without reduction both orders should be enumerated.");
+
+        int[] mixCapacities = {4, 3, 2, 3};
+        State mixStart = new State(new int[]{4, 0, 2, 1});
+        GoalCondition mixGoal = new SingleContainerGoal(1, 3);
+        List<List<Transfer>> unreduced = new AStar(mixCapacities).findAllSolutions(mixStart, mixGoal, 5);
+        AStar expandedSolver = new AStar(mixCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withPartialOrderReduction(PartialOrderReduction.EXPANDED));
+        List<List<Transfer>> expanded = expandedSolver.findAllSolutions(mixStart, mixGoal, 5);
+        AStar mixCanonicalSolver = new AStar(mixCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withPartialOrderReduction(PartialOrderReduction.CANONICAL));
+        TestSupport.assertTrue(expanded.size() > mixCanonicalSolver.findAllSolutions(mixStart, mixGoal, 5).size(),
+                "Expanded output should add the other orders of each canonical plan.");
+        TestSupport.assertTrue(unreduced.stream().map(List::toString).toList().containsAll(expanded.stream().map(List::toString).toList()),
+                "Every expanded order should be a valid unreduced solution.");
+        TestSupport.assertEquals(expanded.size(), (int) expanded.stream().map(List::toString).distinct().count(),
+                "Expanded output should list each order once.");
+        AStar orderedExpandedSolver = new AStar(mixCapacities, List.of(), new ZeroHeuristic(), SearchOptions.defaults()
+                .withPartialOrderReduction(PartialOrderReduction.EXPANDED).withParallelism(3).withDeterministicOrder(true));
+        TestSupport.assertTrue(expanded.toString().equals(orderedExpandedSolver.findAllSolutions(mixStart, mixGoal, 5).toString()),
+                "Deterministic parallel runs should expand plans in the sequential order.");
+        TransferConstraint stateDependent = (state, from, to, amount) -> state.volumeAt(3) < 3 || from != 0;
+        AStar guardedSolver = new AStar(mixCapacities, List.of(stateDependent), new ZeroHeuristic(),
+                SearchOptions.defaults().withPartialOrderReduction(PartialOrderReduction.CANONICAL));
+        TestSupport.assertEquals(new AStar(mixCapacities, List.of(stateDependent)).findAllSolutions(mixStart, mixGoal, 5).size(),
+                guardedSolver.findAllSolutions(mixStart, mixGoal, 5).size(),
+                "State-dependent constraints should turn the reduction off.");
+
+        int[] memoCapacities = {8, 5, 3};
+        State memoStart = new State(new int[]{8, 0, 0});
+        GoalCondition memoGoal = new SingleContainerGoal(1, 4);
+        AStar unmemoizedSolver = new AStar(memoCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withDeadEndMemoBudgetBytes(0));
+        AStar memoizedSolver = new AStar(memoCapacities);
+        TestSupport.assertTrue(unmemoizedSolver.findAllSolutions(memoStart, memoGoal, 9).toString()
+                        .equals(memoizedSolver.findAllSolutions(memoStart, memoGoal, 9).toString()),
+                "The dead-end memo should not change the enumerated solutions or their order.");
+        AStar orderedMemoizedSolver = new AStar(memoCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withParallelism(3).withDeterministicOrder(true));
+        TestSupport.assertTrue(unmemoizedSolver.findAllSolutions(memoStart, memoGoal, 9).toString()
+                        .equals(orderedMemoizedSolver.findAllSolutions(memoStart, memoGoal, 9).toString()),
+                "Parallel runs with the memo should match sequential runs without it.");
+        // Volume only flows toward higher indices, so many paths meet in the same states.
+        int[] flowCapacities = {4, 4, 4, 4};
+        State flowStart = new State(new int[]{4, 4, 0, 0});
+        List<TransferConstraint> forwardOnly = List.of(TransferConstraints.blockRoute(1, 0), TransferConstraints.blockRoute(2, 0),
+                TransferConstraints.blockRoute(2, 1), TransferConstraints.blockRoute(3, 0), TransferConstraints.blockRoute(3, 1),
+                TransferConstraints.blockRoute(3, 2));
+        GoalCondition unreachableGoal = new SingleContainerGoal(0, 5);
+        AStar flowSolver = new AStar(flowCapacities, forwardOnly);
+        TestSupport.assertEquals(0, flowSolver.findAllSolutions(flowStart, unreachableGoal, 8).size(),
+                "An unreachable goal should have no solutions.");
+        AStar unmemoizedFlowSolver = new AStar(flowCapacities, forwardOnly, new ZeroHeuristic(),
+                SearchOptions.defaults().withDeadEndMemoBudgetBytes(0));
+        TestSupport.assertTrue(flowSolver.searchAllSolutions(flowStart, unreachableGoal, 8, Integer.MAX_VALUE).getStatistics().getExpandedNodes()
+                        < unmemoizedFlowSolver.searchAllSolutions(flowStart, unreachableGoal, 8, Integer.MAX_VALUE).getStatistics().getExpandedNodes(),
+                "The dead-end memo should skip subtrees already proven to hold no goal.");
+        AStar tinyMemoSolver = new AStar(memoCapacities, List.of(), new ZeroHeuristic(),
+                SearchOptions.defaults().withDeadEndMemoBudgetBytes(256));
+        TestSupport.assertTrue(unmemoizedSolver.findAllSolutions(memoStart, memoGoal, 9).toString()
+                        .equals(tinyMemoSolver.findAllSolutions(memoStart, memoGoal, 9).toString()),
+                "Evicting memo entries should only cost work, never solutions.");
+
+        GoalCondition flowGoal = new SingleContainerGoal(3, 4);
+        TestSupport.assertEquals(flowSolver.findAllSolutions(flowStart, flowGoal, 8).size(),
+                flowSolver.countSolutions(flowStart, flowGoal, 8).intValueExact(),
+                "Without cycles in the state graph, counting should match enumeration.");
+        TestSupport.assertTrue(memoizedSolver.countSolutions(memoStart, memoGoal, 9).intValueExact()
+                        > memoizedSolver.findAllSolutions(memoStart, memoGoal, 9).size(),
+                "Counting should include sequences that revisit a state.");
+        AStar wideSolver = new AStar(new int[]{9, 9, 9, 9, 9, 9});
+        SearchOutcome<BigInteger> wideCount = wideSolver.searchSolutionCount(new State(new int[]{5, 5, 5, 5, 5, 5}),
+                new SingleContainerGoal(0, 5), 18);
+        TestSupport.assertTrue(wideCount.getValue().compareTo(BigInteger.valueOf(Long.MAX_VALUE)) > 0,
+                "Counts past the long range should widen instead of overflowing.");
+        TestSupport.assertTrue(wideCount.getStatus() == SearchStatus.SOLVED, "A finished count should report SOLVED.");
+        TestSupport.assertEquals(0, wideSolver.countSolutions(new State(new int[]{5, 5, 5, 5, 5, 5}), new SingleContainerGoal(0, 9), 0).intValueExact(),
+                "A zero-depth count should only check the start state.");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> wideSolver.countSolutions(flowStart, flowGoal, Integer.MAX_VALUE),
+                "Counting should reject an unbounded depth.");
+    }
+}
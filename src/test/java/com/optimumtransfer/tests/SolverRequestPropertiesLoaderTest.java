@@ -5,6 +5,8 @@ import com.optimumtransfer.application.SolverRequest;
 import com.optimumtransfer.application.config.SolverRequestPropertiesLoader;
 import com.optimumtransfer.goals.ExactMatchGoal;
 import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.search.OpenListType;
+import com.optimumtransfer.search.PartialOrderReduction;
 
 import java.util.Properties;
 
@@ -26,6 +28,21 @@ public class SolverRequestPropertiesLoaderTest implements TestCase {
         properties.setProperty("goal.targetVolumes", "2,0,2");
         properties.setProperty("heuristic.type", "ZERO");
         properties.setProperty("constraints.blockRoutes", "0>1");
+        properties.setProperty("topology.edges", "0>1,1>2,0>2");
+        properties.setProperty("search.openList", "bucket_queue");
+        properties.setProperty("search.denseTableBudgetMb", "2");
+        properties.setProperty("search.parallelism", "4");
+        properties.setProperty("search.deterministicOrder", "true");
+        properties.setProperty("search.transpositionTableEntries", "1024");
+        properties.setProperty("search.bidirectional", "false");
+        properties.setProperty("search.progressInterval", "500");
+        properties.setProperty("search.timeLimitMs", "1500");
+        properties.setProperty("search.maxExpansions", "100000");
+        properties.setProperty("search.maxStates", "20000");
+        properties.setProperty("search.anytimeInitialWeight", "2.5");
+        properties.setProperty("search.anytimeWeightStep", "0.25");
+        properties.setProperty("search.partialOrderReduction", "expanded");
+        properties.setProperty("search.deadEndMemoMb", "4");
 
         SolverRequest request = new SolverRequestPropertiesLoader().fromProperties(properties);
 
@@ -37,5 +54,23 @@ public class SolverRequestPropertiesLoaderTest implements TestCase {
         TestSupport.assertTrue(request.getGoal() instanceof ExactMatchGoal, "Loader should build the requested goal type.");
         TestSupport.assertTrue(request.getHeuristic() instanceof ZeroHeuristic, "Loader should build the requested heuristic type.");
         TestSupport.assertEquals(1, request.getConstraints().size(), "Loader should build configured constraints.");
+        TestSupport.assertEquals(3, request.getTopology().getEdgeCount(), "Loader should parse topology edges.");
+        TestSupport.assertTrue(!request.getTopology().hasEdge(2, 0), "Loader should leave unlisted pipes out of the topology.");
+        TestSupport.assertTrue(request.getSearchOptions().getOpenListType() == OpenListType.BUCKET_QUEUE, "Loader should parse the open list type.");
+        TestSupport.assertTrue(request.getSearchOptions().getDenseTableBudgetBytes() == 2L * 1024 * 1024, "Loader should parse the dense table budget in megabytes.");
+        TestSupport.assertEquals(4, request.getSearchOptions().getParallelism(), "Loader should parse the worker count.");
+        TestSupport.assertTrue(request.getSearchOptions().isDeterministicOrder(), "Loader should parse the enumeration order flag.");
+        TestSupport.assertEquals(1024, request.getSearchOptions().getTranspositionTableEntries(), "Loader should parse the transposition table size.");
+        TestSupport.assertTrue(!request.getSearchOptions().isBidirectional(), "Loader should allow turning bidirectional search off.");
+        TestSupport.assertTrue(request.getSearchOptions().getProgressInterval() == 500, "Loader should parse the progress interval.");
+        TestSupport.assertTrue(request.getSearchOptions().getTimeLimit().toMillis() == 1500, "Loader should parse the time limit in milliseconds.");
+        TestSupport.assertTrue(request.getSearchOptions().getMaxExpansions() == 100000, "Loader should parse the expansion budget.");
+        TestSupport.assertTrue(request.getSearchOptions().getMaxStates() == 20000, "Loader should parse the state budget.");
+        TestSupport.assertTrue(request.getSearchOptions().getAnytimeInitialWeight() == 2.5, "Loader should parse the anytime starting weight.");
+        TestSupport.assertTrue(request.getSearchOptions().getAnytimeWeightStep() == 0.25, "Loader should parse the anytime weight step.");
+        TestSupport.assertTrue(request.getSearchOptions().getPartialOrderReduction() == PartialOrderReduction.EXPANDED,
+                "Loader should parse the partial-order reduction mode.");
+        TestSupport.assertTrue(request.getSearchOptions().getDeadEndMemoBudgetBytes() == 4L * 1024 * 1024,
+                "Loader should parse the dead-end memo budget in megabytes.");
     }
 }
@@ -6,8 +6,16 @@ import com.optimumtransfer.application.SolverResult;
 import com.optimumtransfer.application.SolverService;
 import com.optimumtransfer.goals.ExactMatchGoal;
 import com.optimumtransfer.goals.GoalCondition;
+import com.optimumtransfer.goals.SingleContainerGoal;
 import com.optimumtransfer.heuristics.ZeroHeuristic;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.search.AStar;
+import com.optimumtransfer.search.AnytimeSolution;
+import com.optimumtransfer.search.SearchOptions;
+import com.optimumtransfer.search.SearchStatus;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class SolverServiceTest implements TestCase {
@@ -35,6 +43,21 @@ public class SolverServiceTest implements TestCase {
         TestSupport.assertTrue(shortestResult.hasShortestSolution(), "Shortest-path mode should return a single solution.");
         TestSupport.assertEquals(1, shortestResult.getShortestSolution().size(), "Shortest-path mode should preserve the optimal transfer count.");
 
+        SolverRequest lowMemoryRequest = new SolverRequest(
+                new int[]{4, 2, 2},
+                new int[]{4, 0, 0},
+                goal,
+                List.of(),
+                new ZeroHeuristic(),
+                SolveMode.SHORTEST_PATH_LOW_MEMORY,
+                SolverRequest.UNBOUNDED_DEPTH
+        );
+
+        SolverResult lowMemoryResult = service.solve(lowMemoryRequest);
+        TestSupport.assertTrue(lowMemoryResult.getSolveMode().isShortestPath(), "Low-memory mode should report a shortest-path result.");
+        TestSupport.assertEquals(1, lowMemoryResult.getShortestSolution().size(), "Low-memory mode should find the same optimal path.");
+        TestSupport.assertTrue(lowMemoryResult.getStatistics().getExpandedNodes() > 0, "Results should carry the search statistics.");
+
         SolverRequest enumerationRequest = new SolverRequest(
                 new int[]{4, 2, 2},
                 new int[]{4, 0, 0},
@@ -61,5 +84,90 @@ public class SolverServiceTest implements TestCase {
 
         SolverResult limitedEnumerationResult = service.solve(limitedEnumerationRequest);
         TestSupport.assertEquals(1, limitedEnumerationResult.getAllSolutions().size(), "Enumeration mode should respect the configured solution cap.");
+        TestSupport.assertTrue(limitedEnumerationResult.getStatus() == SearchStatus.SOLVED, "Finished runs with solutions should report SOLVED.");
+
+        SolverRequest budgetedRequest = new SolverRequest(
+                new int[]{8, 5, 3},
+                new int[]{8, 0, 0},
+                new ExactMatchGoal(new int[]{4, 4, 0}),
+                List.of(),
+                new ZeroHeuristic(),
+                SolveMode.SHORTEST_PATH,
+                SolverRequest.UNBOUNDED_DEPTH,
+                SolverRequest.DEFAULT_MAX_SOLUTIONS,
+                SearchOptions.defaults().withMaxExpansions(2)
+        );
+
+        SolverResult budgetedResult = service.solve(budgetedRequest);
+        TestSupport.assertTrue(budgetedResult.getStatus() == SearchStatus.BUDGET_EXCEEDED, "Results should report an exhausted expansion budget.");
+        TestSupport.assertTrue(budgetedResult.getShortestSolution() == null, "A stopped search should not claim a shortest solution.");
+        TestSupport.assertTrue(budgetedResult.getStatistics().getExpandedNodes() == 2, "The budget should bound the expansions.");
+
+        List<AnytimeSolution> streamed = new ArrayList<>();
+        SolverRequest anytimeRequest = new SolverRequest(
+                new int[]{16, 10, 6},
+                new int[]{16, 0, 0},
+                new ExactMatchGoal(new int[]{8, 8, 0}),
+                List.of(),
+                new ZeroHeuristic(),
+                SolveMode.SHORTEST_PATH_ANYTIME,
+                SolverRequest.UNBOUNDED_DEPTH,
+                SolverRequest.DEFAULT_MAX_SOLUTIONS,
+                SearchOptions.defaults().withAnytimeListener(streamed::add)
+        );
+        SolverResult anytimeResult = service.solve(anytimeRequest);
+        TestSupport.assertTrue(anytimeResult.getStatus() == SearchStatus.SOLVED && anytimeResult.hasShortestSolution(),
+                "An anytime run that finishes should report its optimal plan as the shortest solution.");
+        TestSupport.assertEquals(streamed.size(), anytimeResult.getAnytimeSolutions().size(),
+                "The result should keep every plan the listener saw.");
+        AnytimeSolution bestPlan = streamed.get(streamed.size() - 1);
+        TestSupport.assertEquals(anytimeResult.getShortestSolution().stream().mapToInt(Transfer::getWeight).sum(), bestPlan.getCost(),
+                "A rescaled anytime run should stream plans in the original volumes.");
+
+        SolverRequest rescaledEnumerationRequest = new SolverRequest(
+                new int[]{16, 10, 6},
+                new int[]{16, 0, 0},
+                new ExactMatchGoal(new int[]{8, 8, 0}),
+                List.of(),
+                new ZeroHeuristic(),
+                SolveMode.ALL_SOLUTIONS_WITH_DEPTH,
+                9,
+                SolverRequest.DEFAULT_MAX_SOLUTIONS,
+                SearchOptions.defaults()
+        );
+        SolverResult collected = service.solve(rescaledEnumerationRequest);
+        List<List<Transfer>> streamedSolutions = new ArrayList<>();
+        SolverResult streamedResult = service.solve(rescaledEnumerationRequest, streamedSolutions::add);
+        TestSupport.assertTrue(streamedResult.getAllSolutions().isEmpty() && streamedSolutions.toString().equals(collected.getAllSolutions().toString()),
+                "Streaming should deliver the collected solutions, rescaled, without keeping them in the result.");
+        TestSupport.assertEquals((int) collected.getSolutionCount(), (int) streamedResult.getSolutionCount(),
+                "Streamed results should still count their solutions.");
+
+        SolverRequest countRequest = new SolverRequest(
+                new int[]{16, 10, 6},
+                new int[]{16, 0, 0},
+                new ExactMatchGoal(new int[]{8, 8, 0}),
+                List.of(),
+                new ZeroHeuristic(),
+                SolveMode.COUNT_SOLUTIONS,
+                9
+        );
+        SolverResult countResult = service.solve(countRequest);
+        TestSupport.assertTrue(countResult.getAllSolutions().isEmpty() && countResult.getStatus() == SearchStatus.SOLVED,
+                "Counting should report a status without listing solutions.");
+        TestSupport.assertTrue(countResult.getSolutionTotal().equals(new AStar(new int[]{8, 5, 3})
+                        .countSolutions(new State(new int[]{8, 0, 0}), new ExactMatchGoal(new int[]{4, 4, 0}), 9)),
+                "A rescaled count should match the count of the reduced problem.");
+        TestSupport.assertEquals(countResult.getSolutionTotal().intValueExact(), (int) countResult.getSolutionCount(),
+                "Counts within the long range should read the same through both accessors.");
+        SolverResult wideResult = service.solve(new SolverRequest(new int[]{9, 9, 9, 9, 9, 9}, new int[]{5, 5, 5, 5, 5, 5},
+                new SingleContainerGoal(0, 5), List.of(), new ZeroHeuristic(), SolveMode.COUNT_SOLUTIONS, 18));
+        TestSupport.assertTrue(wideResult.getSolutionTotal().bitLength() > Long.SIZE - 1, "The exact total should exceed the long range.");
+        TestSupport.assertThrows(ArithmeticException.class, wideResult::getSolutionCount,
+                "A count past the long range should not be read as a clamped long.");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> new SolverRequest(new int[]{3, 5}, new int[]{3, 0},
+                        new ExactMatchGoal(new int[]{0, 3}), List.of(), new ZeroHeuristic(), SolveMode.COUNT_SOLUTIONS,
+                        SolverRequest.UNBOUNDED_DEPTH),
+                "Counting requests should need a bounded depth.");
     }
 }
@@ -0,0 +1,74 @@
+package com.optimumtransfer.tests;
+
+import com.optimumtransfer.goals.SingleContainerGoal;
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.StateCodec;
+import com.optimumtransfer.model.StateEncoding;
+import com.optimumtransfer.model.StateHashing;
+import com.optimumtransfer.model.Transfer;
+import com.optimumtransfer.search.AStar;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class StateCodecTest implements TestCase {
+    @Override
+    public String name() {
+        return "StateCodec picks compact encodings that behave like plain states";
+    }
+
+    @Override
+    public void run() {
+        assertEncoding(StateEncoding.PACKED_LONG, filled(3, 4));
+        assertEncoding(StateEncoding.PACKED_TWO_LONGS, filled(10, 255));
+        assertEncoding(StateEncoding.BYTE_ARRAY, filled(20, 255));
+        assertEncoding(StateEncoding.SHORT_ARRAY, filled(20, 1000));
+        assertEncoding(StateEncoding.INT_ARRAY, filled(10, 100_000));
+
+        StateCodec codec = StateCodec.forBounds(new int[]{4, 2, 2});
+        State packed = codec.encode(new int[]{4, 0, 0});
+        State moved = packed.afterTransfer(0, 2, 2);
+        TestSupport.assertArrayEquals(new int[]{2, 0, 2}, moved.getVolumes(), "Packed transfers should move volume between fields.");
+        TestSupport.assertArrayEquals(new int[]{4, 0, 0}, packed.getVolumes(), "Packed transfers should not modify the original state.");
+        TestSupport.assertTrue(moved.equals(codec.encode(new int[]{2, 0, 2})), "Packed states with the same volumes should be equal.");
+        TestSupport.assertEquals(moved.hashCode(), codec.encode(new int[]{2, 0, 2}).hashCode(), "Equal packed states should share a hash code.");
+        TestSupport.assertTrue(codec.encode(new State(new int[]{4, 0, 0})).equals(packed), "Codecs should re-encode plain states.");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> codec.encode(new int[]{5, 0, 0}), "Codecs should reject volumes above their bounds.");
+        TestSupport.assertTrue(moved.equals(new State(new int[]{2, 0, 2})), "States with the same volumes should be equal across encodings.");
+        TestSupport.assertEquals(new State(new int[]{2, 0, 2}).hashCode(), moved.hashCode(), "Hash codes should not depend on the encoding.");
+        TestSupport.assertTrue(moved.hash64() == StateHashing.hashOf(new int[]{2, 0, 2}), "Incremental hashes should match a full recomputation.");
+        TestSupport.assertTrue(!moved.equals(packed), "States with different volumes should not be equal.");
+
+        int[] largeCapacities = filled(8, 70_000);
+        int[] largeStart = new int[8];
+        largeStart[0] = 70_000;
+        List<Transfer> path = new AStar(largeCapacities).solve(new State(largeStart), new SingleContainerGoal(1, 70_000));
+        TestSupport.assertTrue(path != null && path.size() == 1, "Search should work with the unpacked int encoding too.");
+    }
+
+    private static void assertEncoding(StateEncoding expected, int[] bounds) {
+        StateCodec codec = StateCodec.forBounds(bounds);
+        TestSupport.assertTrue(codec.getEncoding() == expected,
+                "Expected " + expected + " for " + bounds.length + " containers of " + bounds[0] + " but got " + codec.getEncoding() + ".");
+
+        int[] volumes = new int[bounds.length];
+        for (int i = 0; i < volumes.length; i++) {
+            volumes[i] = bounds[i] - i % 2;
+        }
+        State state = codec.encode(volumes);
+        TestSupport.assertArrayEquals(volumes, state.getVolumes(), expected + " should round-trip volumes.");
+        TestSupport.assertTrue(state.getEncoding() == expected, "Encoded states should report their encoding.");
+
+        State moved = state.afterTransfer(0, 1, 1);
+        TestSupport.assertEquals(volumes[0] - 1, moved.volumeAt(0), expected + " should remove volume from the source.");
+        TestSupport.assertEquals(volumes[1] + 1, moved.volumeAt(1), expected + " should add volume to the target.");
+        TestSupport.assertTrue(moved.hash64() == StateHashing.hashOf(moved.getVolumes()), expected + " should update its hash incrementally.");
+        TestSupport.assertTrue(moved.equals(new State(moved.getVolumes())), expected + " should equal the plain state with the same volumes.");
+    }
+
+    private static int[] filled(int size, int value) {
+        int[] values = new int[size];
+        Arrays.fill(values, value);
+        return values;
+    }
+}
@@ -9,9 +9,14 @@ public final class TestRunner {
     public static void main(String[] args) throws Exception {
         List<TestCase> tests = List.of(
                 new ModelTest(),
+                new StateCodecTest(),
                 new SimpleGoalParserTest(),
                 new AStarTest(),
+                new SolutionEnumerationTest(),
+                new SearchBudgetTest(),
+                new AnytimeSearchTest(),
                 new SolverServiceTest(),
+                new FeasibilityAnalyzerTest(),
                 new SolverRequestPropertiesLoaderTest(),
                 new GridPathSolverTest(),
                 new RuntimeDefaultsTest()
@@ -1,8 +1,12 @@
 package com.optimumtransfer.tests;
 
+import com.optimumtransfer.model.State;
+import com.optimumtransfer.model.Transfer;
+
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.Arrays;
+import java.util.List;
 
 public final class TestSupport {
     private TestSupport() {
@@ -59,6 +63,27 @@ public final class TestSupport {
         return buffer.toString();
     }
 
+    /**
+     * Replays the path from the start, checking that every transfer pours as much as fits,
+     * and returns the final volumes.
+     */
+    public static int[] replayPath(int[] capacities, State start, List<Transfer> path) {
+        int[] volumes = start.getVolumes();
+        for (Transfer transfer : path) {
+            int from = transfer.getFromContainer();
+            int to = transfer.getToContainer();
+            assertEquals(Math.min(volumes[from], capacities[to] - volumes[to]), transfer.getAmount(),
+                    "Every replayed transfer should pour as much as fits.");
+            volumes[from] -= transfer.getAmount();
+            volumes[to] += transfer.getAmount();
+        }
+        return volumes;
+    }
+
+    public static int pathCost(List<Transfer> path) {
+        return path.stream().mapToInt(Transfer::getWeight).sum();
+    }
+
     @FunctionalInterface
     public interface ThrowingRunnable {
         void run() throws Exception;